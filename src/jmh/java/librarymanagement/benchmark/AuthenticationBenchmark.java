@@ -0,0 +1,114 @@
+package librarymanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import librarymanagement.LibraryManagementApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+/**
+ * An authenticated customer request through the API security chain, once with the session from a form login and
+ * once with a signed bearer token. Requests go through MockMvc, so the score is the chain and controller without
+ * the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private static final String USERNAME = "bench-customer";
+    private static final String PASSWORD = "password123";
+
+    @Param({"session", "token"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private MockHttpSession session;
+    private String bearer;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        context = new SpringApplicationBuilder(LibraryManagementApplication.class)
+                .profiles(System.getProperty("benchmark.profile", "test"))
+                .properties("server.port=0")
+                // Arguments, since default properties would lose to application.yml and the test profile
+                .run("--logging.level.librarymanagement=WARN",
+                        "--library.security.token.enabled=" + "token".equals(mode),
+                        "--library.security.token.secrets=0123456789abcdef0123456789abcdef");
+        mockMvc = webAppContextSetup((WebApplicationContext) context).apply(springSecurity()).build();
+
+        mockMvc.perform(post("/api/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"username":"%s","password":"%s","role":"ROLE_CUSTOMER","firstName":"Bench","lastName":"Customer"}
+                        """.formatted(USERNAME, PASSWORD)));
+        MvcResult login = mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .content("username=" + USERNAME + "&password=" + PASSWORD))
+                .andReturn();
+        if ("token".equals(mode)) {
+            bearer = "Bearer " + context.getBean(ObjectMapper.class)
+                    .readTree(login.getResponse().getContentAsString()).get("accessToken").asText();
+        } else {
+            session = (MockHttpSession) login.getRequest().getSession(false);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int whoAmI() throws Exception {
+        return perform(get("/api/whoami"));
+    }
+
+    @Benchmark
+    public int myReservations() throws Exception {
+        return perform(get("/api/reservations/mine").accept(MediaType.APPLICATION_JSON));
+    }
+
+    private int perform(MockHttpServletRequestBuilder request) throws Exception {
+        if (bearer != null) {
+            request.header(HttpHeaders.AUTHORIZATION, bearer);
+        } else {
+            request.session(session);
+        }
+        int status = mockMvc.perform(request).andReturn().getResponse().getStatus();
+        if (status != 200) {
+            throw new IllegalStateException("Expected 200 but got " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,67 @@
+package librarymanagement.benchmark;
+
+import librarymanagement.model.Book;
+import librarymanagement.service.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogBenchmark {
+
+    private BookService bookService;
+    private CacheManager cacheManager;
+
+    @State(Scope.Benchmark)
+    public static class Listing {
+        @Param({"0", "40"})
+        public int page;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Search {
+        @Param({"benchmark book 12", "author 17 volume"})
+        public String term;
+    }
+
+    @Setup
+    public void setUp(LibraryState library) {
+        bookService = library.bean(BookService.class);
+        cacheManager = library.bean(CacheManager.class);
+    }
+
+    @Benchmark
+    public Page<Book> getAllBooksCached(Listing listing) {
+        return bookService.getAllBooks(PageRequest.of(listing.page, 20));
+    }
+
+    @Benchmark
+    public Page<Book> getAllBooksUncached(Listing listing) {
+        // Clearing is a map clear, small next to the query it forces
+        cacheManager.getCache("book-pages").clear();
+        return bookService.getAllBooks(PageRequest.of(listing.page, 20));
+    }
+
+    @Benchmark
+    public Page<Book> searchBooks(Search search) {
+        return bookService.searchBooks(search.term, PageRequest.of(0, 20));
+    }
+}
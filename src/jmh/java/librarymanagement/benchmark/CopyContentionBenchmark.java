@@ -0,0 +1,54 @@
+package librarymanagement.benchmark;
+
+import librarymanagement.model.Copy;
+import librarymanagement.service.CopyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every thread works on copies of the same book, so all of them contend for its available-copies counter.
+ * Each operation is undone in the same invocation to keep the number of available copies steady.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class CopyContentionBenchmark {
+
+    private CopyService copyService;
+    private Long customerId;
+
+    @Setup
+    public void setUp(LibraryState library, ThreadParams threadParams) {
+        copyService = library.bean(CopyService.class);
+        customerId = library.customerIds.get(threadParams.getThreadIndex() % library.customerIds.size());
+    }
+
+    @Benchmark
+    public Copy reserveAndCancel() {
+        Copy copy = copyService.reserveAnyAvailableCopy(LibraryState.CONTENDED_ISBN, customerId);
+        return copyService.cancelReservation(copy.getId(), customerId);
+    }
+
+    @Benchmark
+    public Copy reserveCheckoutAndReturn() {
+        Copy copy = copyService.reserveAnyAvailableCopy(LibraryState.CONTENDED_ISBN, customerId);
+        copyService.checkout(copy.getId(), customerId);
+        return copyService.returnCopy(copy.getId(), customerId);
+    }
+}
@@ -0,0 +1,87 @@
+package librarymanagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import librarymanagement.dto.CopyListItem;
+import librarymanagement.dto.CountedPage;
+import librarymanagement.model.Copy;
+import librarymanagement.repository.CopyRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A copy listing page read and serialized both ways: fetch-joined entities, as listings were read before, against
+ * the {@link CopyListItem} projection. The {@code rows} counter is listed rows per second, and the gc profiler's
+ * {@code gc.alloc.rate.norm} divided by the page size is the allocation per row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CopyListingBenchmark {
+
+    private static final long TOTAL_COPIES = (long) LibraryState.BOOKS * LibraryState.COPIES_PER_BOOK;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private CopyRepository copyRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private ObjectMapper objectMapper;
+    private PageRequest pageRequest;
+    private List<Long> ids;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup
+    public void setUp(LibraryState library) {
+        copyRepository = library.bean(CopyRepository.class);
+        objectMapper = library.bean(ObjectMapper.class);
+        readOnlyTransaction = new TransactionTemplate(library.bean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        pageRequest = PageRequest.of(3, pageSize);
+        ids = copyRepository.findAllIds(pageRequest);
+    }
+
+    @Benchmark
+    public String entityPath(Rows rows) throws JsonProcessingException {
+        List<Copy> copies = readOnlyTransaction.execute(status -> copyRepository.findByIdsWithAllRelations(ids));
+        rows.rows += copies.size();
+        return objectMapper.writeValueAsString(new CountedPage<>(copies, pageRequest, TOTAL_COPIES, false));
+    }
+
+    @Benchmark
+    public String projectionPath(Rows rows) throws JsonProcessingException {
+        List<CopyListItem> copies = readOnlyTransaction.execute(status -> copyRepository.findListItemsByIds(ids));
+        rows.rows += copies.size();
+        return objectMapper.writeValueAsString(new CountedPage<>(copies, pageRequest, TOTAL_COPIES, false));
+    }
+}
@@ -0,0 +1,65 @@
+package librarymanagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import librarymanagement.dto.CopyListItem;
+import librarymanagement.model.Copy;
+import librarymanagement.repository.CopyRepository;
+import librarymanagement.service.CopyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CopyReadBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private CopyRepository copyRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private ObjectMapper objectMapper;
+    private List<Long> ids;
+    private Page<CopyListItem> page;
+
+    @Setup
+    public void setUp(LibraryState library) {
+        copyRepository = library.bean(CopyRepository.class);
+        objectMapper = library.bean(ObjectMapper.class);
+        readOnlyTransaction = new TransactionTemplate(library.bean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        ids = copyRepository.findAllIds(PageRequest.of(3, pageSize));
+        page = library.bean(CopyService.class).getAllCopies(PageRequest.of(3, pageSize));
+    }
+
+    @Benchmark
+    public List<Copy> findByIdsWithAllRelations() {
+        return readOnlyTransaction.execute(status -> copyRepository.findByIdsWithAllRelations(ids));
+    }
+
+    // The application's ObjectMapper, so the page goes through the same VIA_DTO serialization as the API
+    @Benchmark
+    public String serializeCopyPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(page);
+    }
+}
@@ -0,0 +1,88 @@
+package librarymanagement.benchmark;
+
+import librarymanagement.LibraryManagementApplication;
+import librarymanagement.dto.CopyCreateRequest;
+import librarymanagement.model.Customer;
+import librarymanagement.service.BookImportService;
+import librarymanagement.service.CopyService;
+import librarymanagement.service.CustomerService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One running application per forked JVM, seeded with a catalog of {@value #BOOKS} books.
+ * Runs on the in-memory H2 of the test profile unless {@code -Dbenchmark.profile} names another one,
+ * e.g. {@code default} for the PostgreSQL configured in application.yml.
+ */
+@State(Scope.Benchmark)
+public class LibraryState {
+
+    static final int BOOKS = 2_000;
+    static final int COPIES_PER_BOOK = 3;
+    static final int CUSTOMERS = 64;
+    // The book all contention benchmarks fight over
+    static final String CONTENDED_ISBN = isbn(0);
+    static final int CONTENDED_COPIES = 100;
+
+    ConfigurableApplicationContext context;
+    final List<Long> customerIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        context = new SpringApplicationBuilder(LibraryManagementApplication.class)
+                .profiles(System.getProperty("benchmark.profile", "test"))
+                .properties("server.port=0")
+                // Arguments, since default properties would lose to application.yml and the test profile
+                .run("--logging.level.librarymanagement=WARN", "--library.search.in-memory-index=true");
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    static String isbn(int book) {
+        return "978%010d".formatted(book);
+    }
+
+    private void seed() throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int book = 0; book < BOOKS; book++) {
+            ndjson.append("""
+                    {"isbn":"%s","title":"Benchmark Book %d Volume %d","publicationYear":%d,"authorNames":["Author %d","Author %d"]}
+                    """.formatted(isbn(book), book, book % 7, 1950 + book % 70, book % 300, (book + 1) % 300));
+        }
+        bean(BookImportService.class).importBooks(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+
+        List<CopyCreateRequest> copies = new ArrayList<>();
+        for (int book = 1; book < BOOKS; book++) {
+            copies.add(new CopyCreateRequest(isbn(book), COPIES_PER_BOOK));
+        }
+        copies.add(new CopyCreateRequest(CONTENDED_ISBN, CONTENDED_COPIES));
+        bean(CopyService.class).addCopiesInBulk(copies);
+
+        CustomerService customerService = bean(CustomerService.class);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Customer customer = new Customer();
+            customer.setFirstName("Bench");
+            customer.setLastName("Customer" + i);
+            customerIds.add(customerService.addCustomer(customer).getId());
+        }
+    }
+}
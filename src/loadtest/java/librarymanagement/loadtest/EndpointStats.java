@@ -0,0 +1,62 @@
+package librarymanagement.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of one operation, measured from the intended send time so a stalled server
+ * shows up as queueing delay instead of silently lowering the request rate.
+ */
+class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    void recordSuccess(long latencyNanos) {
+        latencies.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+    }
+
+    void recordError(long latencyNanos) {
+        recordSuccess(latencyNanos);
+        errors.increment();
+    }
+
+    void recordRetry() {
+        retries.increment();
+    }
+
+    // Requests never sent because too many were already in flight
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    void reset() {
+        latencies.reset();
+        errors.reset();
+        retries.reset();
+        dropped.reset();
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long retries() {
+        return retries.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,139 @@
+package librarymanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+/**
+ * Thin client for the endpoints the load test uses. Sessions are kept as a ready-made header,
+ * either the session cookie or, in token mode, the bearer token.
+ */
+class LibraryClient {
+
+    record Credentials(String headerName, String headerValue) {
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    LibraryClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    // Setup calls, blocking
+
+    JsonNode register(String username, String role, String firstName, String lastName) throws IOException, InterruptedException {
+        Map<String, String> body = firstName == null
+                ? Map.of("username", username, "password", LoadTest.PASSWORD, "role", role)
+                : Map.of("username", username, "password", LoadTest.PASSWORD, "role", role, "firstName", firstName, "lastName", lastName);
+        return json(expectSuccess(send(post("/api/register", null, objectMapper.writeValueAsString(body)))));
+    }
+
+    Credentials login(String path, String username) throws IOException, InterruptedException {
+        String form = "username=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(LoadTest.PASSWORD, StandardCharsets.UTF_8);
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Login of " + username + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        if (response.headers().firstValue("Content-Type").orElse("").startsWith("application/json")) {
+            return new Credentials("Authorization", "Bearer " + json(response).get("accessToken").asText());
+        }
+        String cookie = response.headers().firstValue("Set-Cookie")
+                .orElseThrow(() -> new IllegalStateException("Login of " + username + " returned no session"));
+        return new Credentials("Cookie", cookie.substring(0, cookie.indexOf(';')));
+    }
+
+    void importBooks(Credentials librarian, String ndjson) throws IOException, InterruptedException {
+        expectSuccess(send(HttpRequest.newBuilder(uri("/api/admin/books/import"))
+                .header(librarian.headerName(), librarian.headerValue())
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(ndjson))
+                .build()));
+    }
+
+    void addCopies(Credentials librarian, List<Map<String, Object>> copies) throws IOException, InterruptedException {
+        expectSuccess(send(post("/api/admin/copies/bulk", librarian, objectMapper.writeValueAsString(Map.of("copies", copies)))));
+    }
+
+    // Traffic calls, asynchronous
+
+    CompletableFuture<HttpResponse<String>> browse(int page) {
+        return sendAsync(HttpRequest.newBuilder(uri("/api/books?size=20&page=" + page)).GET().build());
+    }
+
+    CompletableFuture<HttpResponse<String>> search(String term) {
+        return sendAsync(HttpRequest.newBuilder(uri("/api/books/search?size=20&q=" + URLEncoder.encode(term, StandardCharsets.UTF_8)))
+                .GET()
+                .build());
+    }
+
+    CompletableFuture<HttpResponse<String>> reserve(Credentials customer, String isbn) {
+        return sendAsync(post("/api/reservations", customer, "{\"bookIsbn\":\"" + isbn + "\"}"));
+    }
+
+    CompletableFuture<HttpResponse<String>> checkout(Credentials librarian, long copyId, long customerId) {
+        return sendAsync(post("/api/desk/checkout", librarian, deskBody(copyId, customerId)));
+    }
+
+    CompletableFuture<HttpResponse<String>> returnCopy(Credentials librarian, long copyId, long customerId) {
+        return sendAsync(post("/api/desk/return", librarian, deskBody(copyId, customerId)));
+    }
+
+    JsonNode json(HttpResponse<String> response) throws IOException {
+        return objectMapper.readTree(response.body());
+    }
+
+    private static String deskBody(long copyId, long customerId) {
+        return "{\"copyId\":" + copyId + ",\"customerId\":" + customerId + "}";
+    }
+
+    private HttpRequest post(String path, Credentials credentials, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (credentials != null) {
+            builder.header(credentials.headerName(), credentials.headerValue());
+        }
+        return builder.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> expectSuccess(HttpResponse<String> response) {
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(response.request().uri() + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+}
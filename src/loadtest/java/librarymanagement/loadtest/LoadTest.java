@@ -0,0 +1,172 @@
+package librarymanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import librarymanagement.LibraryManagementApplication;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Seeds a catalog, copies and customers over HTTP and replays a mix of browse, search, reserve,
+ * checkout and return traffic against it. Without {@code -Dloadtest.base-url} the application is
+ * started in-process on the test profile; point it at a deployed instance for numbers worth keeping.
+ */
+public final class LoadTest {
+
+    static final String PASSWORD = "load-test-password";
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+    private static final List<String> TITLE_WORDS = List.of("History", "Garden", "River", "Night", "Winter", "City", "Load");
+    private static final int COPIES_PER_REQUEST = 1000;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ConfigurableApplicationContext context = null;
+        String baseUrl = config.baseUrl();
+        if (config.embedded()) {
+            // An argument, since default properties would lose to the DEBUG level of the test profile
+            String[] appArgs = Stream.concat(Stream.of("--logging.level.librarymanagement=WARN"), Arrays.stream(args))
+                    .toArray(String[]::new);
+            context = new SpringApplicationBuilder(LibraryManagementApplication.class)
+                    .profiles("test")
+                    .properties("server.port=0")
+                    .run(appArgs);
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+
+        try {
+            run(config, new LibraryClient(baseUrl));
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    static Map<Operation, EndpointStats> run(LoadTestConfig config, LibraryClient client) throws IOException, InterruptedException {
+        // Keeps the ISBNs and usernames of consecutive runs against the same instance apart
+        long runId = System.currentTimeMillis() / 1000 % 1000;
+
+        client.register("loadtest-librarian-" + runId, "ROLE_LIBRARIAN", null, null);
+        LibraryClient.Credentials librarian = client.login("/admin/login", "loadtest-librarian-" + runId);
+        List<String> isbns = seedCatalog(config, client, librarian, runId);
+        List<TrafficRunner.Customer> customers = seedCustomers(config, client, runId);
+
+        TrafficRunner runner = new TrafficRunner(config, client, librarian, customers, isbns);
+        long measuredNanos = runner.run();
+        report(config, runner.stats(), measuredNanos);
+        return runner.stats();
+    }
+
+    private static List<String> seedCatalog(LoadTestConfig config, LibraryClient client, LibraryClient.Credentials librarian,
+                                            long runId) throws IOException, InterruptedException {
+        log.info("Seeding {} books with {} copies each", config.books(), config.copiesPerBook());
+        List<String> isbns = new ArrayList<>(config.books());
+        StringBuilder ndjson = new StringBuilder();
+        for (int book = 0; book < config.books(); book++) {
+            String isbn = "979%03d%07d".formatted(runId, book);
+            isbns.add(isbn);
+            ndjson.append("""
+                    {"isbn":"%s","title":"%s %s %d","publicationYear":%d,"authorNames":["Load Author %d"]}
+                    """.formatted(isbn, TITLE_WORDS.get(book % TITLE_WORDS.size()), TITLE_WORDS.get(book / 7 % TITLE_WORDS.size()),
+                    book, 1950 + book % 70, book % 200));
+        }
+        client.importBooks(librarian, ndjson.toString());
+
+        List<Map<String, Object>> copies = new ArrayList<>();
+        for (String isbn : isbns) {
+            copies.add(Map.of("bookIsbn", isbn, "quantity", config.copiesPerBook()));
+            if (copies.size() == COPIES_PER_REQUEST) {
+                client.addCopies(librarian, copies);
+                copies.clear();
+            }
+        }
+        if (!copies.isEmpty()) {
+            client.addCopies(librarian, copies);
+        }
+        return isbns;
+    }
+
+    private static List<TrafficRunner.Customer> seedCustomers(LoadTestConfig config, LibraryClient client, long runId)
+            throws IOException, InterruptedException {
+        log.info("Registering {} customers", config.customers());
+        List<TrafficRunner.Customer> customers = new ArrayList<>(config.customers());
+        for (int i = 0; i < config.customers(); i++) {
+            String username = "loadtest-%d-customer-%d".formatted(runId, i);
+            long customerId = client.register(username, "ROLE_CUSTOMER", "Load", "Customer" + i).get("customer").get("id").asLong();
+            customers.add(new TrafficRunner.Customer(customerId, client.login("/api/login", username)));
+        }
+        return customers;
+    }
+
+    private static void report(LoadTestConfig config, Map<Operation, EndpointStats> stats, long measuredNanos) throws IOException {
+        Path reportDir = Path.of(config.reportDir());
+        Files.createDirectories(reportDir);
+        double seconds = measuredNanos / (double) TimeUnit.SECONDS.toNanos(1);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        System.out.printf("%n%-9s %8s %7s %7s %7s %9s %9s %9s %9s %9s %8s%n",
+                "operation", "count", "errors", "retries", "dropped", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "req/s");
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            Histogram latencies = endpointStats.latencies();
+            if (latencies.getTotalCount() == 0 && endpointStats.dropped() == 0) {
+                continue;
+            }
+            String label = entry.getKey().label();
+            System.out.printf("%-9s %8d %7d %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %8.1f%n",
+                    label, latencies.getTotalCount(), endpointStats.errors(), endpointStats.retries(), endpointStats.dropped(),
+                    millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                    millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()), latencies.getTotalCount() / seconds);
+
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("count", latencies.getTotalCount());
+            endpoint.put("errors", endpointStats.errors());
+            endpoint.put("retries", endpointStats.retries());
+            endpoint.put("dropped", endpointStats.dropped());
+            endpoint.put("throughput", latencies.getTotalCount() / seconds);
+            endpoint.put("p50Millis", millis(latencies.getValueAtPercentile(50)));
+            endpoint.put("p90Millis", millis(latencies.getValueAtPercentile(90)));
+            endpoint.put("p99Millis", millis(latencies.getValueAtPercentile(99)));
+            endpoint.put("p999Millis", millis(latencies.getValueAtPercentile(99.9)));
+            endpoint.put("maxMillis", millis(latencies.getMaxValue()));
+            summary.put(label, endpoint);
+
+            // Percentile distribution in milliseconds, readable by the HdrHistogram plotter
+            try (PrintStream out = new PrintStream(Files.newOutputStream(reportDir.resolve(label + ".hgrm")))) {
+                latencies.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("rate", config.rate());
+        document.put("durationSeconds", seconds);
+        document.put("mix", config.mix());
+        document.put("operations", summary);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportDir.resolve("report.json").toFile(), document);
+        log.info("Wrote the load test report to {}", reportDir.toAbsolutePath());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,44 @@
+package librarymanagement.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings read from {@code -Dloadtest.*} system properties, see the README for the defaults.
+ */
+record LoadTestConfig(String baseUrl, Duration warmup, Duration duration, int rate, Map<Operation, Integer> mix,
+                      int books, int copiesPerBook, int customers, int maxInFlight, String reportDir) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                System.getProperty("loadtest.base-url", ""),
+                DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "10s")),
+                DurationStyle.detectAndParse(System.getProperty("loadtest.duration", "60s")),
+                Integer.getInteger("loadtest.rate", 100),
+                parseMix(System.getProperty("loadtest.mix", "browse:50,search:25,reserve:10,checkout:8,return:7")),
+                Integer.getInteger("loadtest.books", 500),
+                Integer.getInteger("loadtest.copies-per-book", 3),
+                Integer.getInteger("loadtest.customers", 50),
+                Integer.getInteger("loadtest.max-in-flight", 512),
+                System.getProperty("loadtest.report-dir", "target/loadtest"));
+    }
+
+    boolean embedded() {
+        return baseUrl.isBlank();
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Traffic mix entries look like browse:50, got: " + entry);
+            }
+            weights.put(Operation.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
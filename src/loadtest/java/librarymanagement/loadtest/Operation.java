@@ -0,0 +1,19 @@
+package librarymanagement.loadtest;
+
+import java.util.Locale;
+
+enum Operation {
+    BROWSE,
+    SEARCH,
+    RESERVE,
+    CHECKOUT,
+    RETURN;
+
+    static Operation fromName(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
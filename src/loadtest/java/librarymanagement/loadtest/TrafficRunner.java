@@ -0,0 +1,177 @@
+package librarymanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-loop traffic: requests are started on a fixed schedule whether or not earlier ones have
+ * answered, the way independent patrons arrive at a library. Checkouts and returns work on the
+ * copies earlier reservations and checkouts produced and turn into a reservation when there are none.
+ */
+class TrafficRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TrafficRunner.class);
+    private static final List<String> SEARCH_TERMS = List.of("history", "garden", "river", "night", "winter", "city", "load");
+
+    record Customer(long id, LibraryClient.Credentials credentials) {
+    }
+
+    private record Loan(long copyId, long customerId) {
+    }
+
+    private final LoadTestConfig config;
+    private final LibraryClient client;
+    private final LibraryClient.Credentials librarian;
+    private final List<Customer> customers;
+    private final List<String> isbns;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final Queue<Loan> reserved = new ConcurrentLinkedQueue<>();
+    private final Queue<Loan> borrowed = new ConcurrentLinkedQueue<>();
+    private final Semaphore inFlight;
+    private final Operation[] schedule;
+
+    TrafficRunner(LoadTestConfig config, LibraryClient client, LibraryClient.Credentials librarian,
+                  List<Customer> customers, List<String> isbns) {
+        this.config = config;
+        this.client = client;
+        this.librarian = librarian;
+        this.customers = customers;
+        this.isbns = isbns;
+        this.inFlight = new Semaphore(config.maxInFlight());
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+        this.schedule = config.mix().entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+        if (schedule.length == 0) {
+            throw new IllegalArgumentException("The traffic mix has no weight");
+        }
+    }
+
+    Map<Operation, EndpointStats> stats() {
+        return stats;
+    }
+
+    /**
+     * Runs the warmup and then the measured phase.
+     *
+     * @return the length of the measured phase in nanoseconds
+     */
+    long run() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(42);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        boolean measuring = config.warmup().isZero();
+        log.info("Sending {} requests per second for {} after a {} warmup", config.rate(), config.duration(), config.warmup());
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!measuring && intended >= measureFrom) {
+                stats.values().forEach(EndpointStats::reset);
+                measuring = true;
+                log.info("Warmup done, measuring");
+            }
+            dispatch(schedule[random.nextInt(schedule.length)], intended, random.split());
+        }
+
+        // In-flight requests still count towards the measured phase
+        inFlight.acquire(config.maxInFlight());
+        inFlight.release(config.maxInFlight());
+        return end - measureFrom;
+    }
+
+    private void dispatch(Operation operation, long intended, SplittableRandom random) {
+        Loan loan = switch (operation) {
+            case CHECKOUT -> reserved.poll();
+            case RETURN -> borrowed.poll();
+            default -> null;
+        };
+        if ((operation == Operation.CHECKOUT || operation == Operation.RETURN) && loan == null) {
+            operation = Operation.RESERVE;
+        }
+
+        EndpointStats endpointStats = stats.get(operation);
+        if (!inFlight.tryAcquire()) {
+            endpointStats.recordDropped();
+            return;
+        }
+
+        Customer customer = customers.get(random.nextInt(customers.size()));
+        Supplier<CompletableFuture<HttpResponse<String>>> request = switch (operation) {
+            case BROWSE -> () -> client.browse(random.nextInt(Math.max(1, isbns.size() / 20)));
+            case SEARCH -> () -> client.search(SEARCH_TERMS.get(random.nextInt(SEARCH_TERMS.size())));
+            case RESERVE -> {
+                String isbn = isbns.get(random.nextInt(isbns.size()));
+                yield () -> client.reserve(customer.credentials(), isbn);
+            }
+            case CHECKOUT -> () -> client.checkout(librarian, loan.copyId(), loan.customerId());
+            case RETURN -> () -> client.returnCopy(librarian, loan.copyId(), loan.customerId());
+        };
+
+        Operation sent = operation;
+        sendWithRetry(request, endpointStats).whenComplete((response, failure) -> {
+            long latency = System.nanoTime() - intended;
+            inFlight.release();
+            if (failure != null || response.statusCode() >= 400) {
+                endpointStats.recordError(latency);
+                return;
+            }
+            endpointStats.recordSuccess(latency);
+            track(sent, response, customer, loan);
+        });
+    }
+
+    // Conflicts and overload responses are retried once, as a desk client would
+    private CompletableFuture<HttpResponse<String>> sendWithRetry(Supplier<CompletableFuture<HttpResponse<String>>> request,
+                                                                  EndpointStats endpointStats) {
+        return request.get().thenCompose(response -> {
+            if (response.statusCode() == 409 || response.statusCode() == 503) {
+                endpointStats.recordRetry();
+                return request.get();
+            }
+            return CompletableFuture.completedFuture(response);
+        });
+    }
+
+    private void track(Operation operation, HttpResponse<String> response, Customer customer, Loan loan) {
+        switch (operation) {
+            case RESERVE -> {
+                try {
+                    JsonNode copy = client.json(response);
+                    reserved.add(new Loan(copy.get("id").asLong(), customer.id()));
+                } catch (IOException e) {
+                    log.warn("Unreadable reservation response: {}", response.body());
+                }
+            }
+            case CHECKOUT -> borrowed.add(loan);
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package librarymanagement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import librarymanagement.constants.Messages;
+import librarymanagement.service.ApiTokenService;
+import librarymanagement.service.LibraryUserDetails;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Authenticates API requests carrying an {@code Authorization: Bearer} token issued by {@link ApiTokenService}.
+ * Requests without one pass through unauthenticated. Requests with an invalid or expired one are rejected,
+ * except on public paths, where they go on as anonymous so a stale token cannot lock a client out of the catalog.
+ */
+public class ApiTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final ApiTokenService apiTokenService;
+    private final RequestMatcher publicPaths;
+
+    public ApiTokenAuthenticationFilter(ApiTokenService apiTokenService, RequestMatcher publicPaths) {
+        this.apiTokenService = apiTokenService;
+        this.publicPaths = publicPaths;
+    }
+
+    public static Optional<String> bearerToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return Optional.empty();
+        }
+        return Optional.of(header.substring(BEARER_PREFIX.length()).trim());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Optional<String> token = bearerToken(request);
+        if (token.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Optional<LibraryUserDetails> principal = apiTokenService.authenticate(token.get());
+        if (principal.isEmpty()) {
+            if (publicPaths.matches(request)) {
+                chain.doFilter(request, response);
+                return;
+            }
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setContentType("text/plain");
+            response.getWriter().write(Messages.SECURITY_TOKEN_INVALID);
+            return;
+        }
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                principal.get(), null, principal.get().getAuthorities()));
+        SecurityContextHolder.setContext(context);
+        chain.doFilter(request, response);
+    }
+}
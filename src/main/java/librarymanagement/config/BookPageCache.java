@@ -0,0 +1,357 @@
+package librarymanagement.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import librarymanagement.model.Book;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Decorates the "book-pages" cache with an index from ISBN to the cached page keys containing that book,
+ * so a change to a single book only evicts the pages it appears on.
+ * A page leaves the index whenever it leaves the cache, including Caffeine's own size and expiry evictions
+ * (see {@link #onEvicted}). Evictions and clears requested inside a transaction run after it commits, so a
+ * concurrent reader cannot load the old rows again once they are evicted.
+ */
+public class BookPageCache implements Cache {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int STAMP_STRIPES = 1024;
+
+    private final Cache delegate;
+    private final Map<String, Set<Object>> keysByIsbn = new ConcurrentHashMap<>();
+    private final Map<Object, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+    // Pages sorted by the copy counter can reorder on any counter change, not only where the book is
+    private final Set<Object> counterSortedKeys = ConcurrentHashMap.newKeySet();
+    // Index changes for one key are serialized, so unindexing a removed page cannot drop a newer page's entries
+    private final Object[] keyLocks = new Object[LOCK_STRIPES];
+    // A load that overlapped an eviction of one of its books, or a clear, may hold the old state of that book.
+    // Stamps are kept per ISBN hash stripe, so the memory stays fixed however many books change.
+    private final AtomicLong mutations = new AtomicLong();
+    private final AtomicLongArray isbnEvictionStamps = new AtomicLongArray(STAMP_STRIPES);
+    private volatile long lastMutationStamp;
+    private volatile long lastClearStamp;
+    private final DistributionSummary evictedPages;
+    private volatile Function<Pageable, ? extends Page<?>> pageSource;
+
+    public BookPageCache(Cache delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            keyLocks[i] = new Object();
+        }
+        this.evictedPages = DistributionSummary.builder("book_pages_evicted_per_mutation")
+                .description("Cached book pages evicted by a single catalog mutation")
+                .register(meterRegistry);
+    }
+
+    // A plain PageRequest, so a refresh can load the page again from its key
+    public static Object keyFor(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+    }
+
+    public void setPageSource(Function<Pageable, ? extends Page<?>> pageSource) {
+        this.pageSource = pageSource;
+    }
+
+    /**
+     * Loads a page again for {@code refresh-after-write}. The page is installed here, only if the key still holds
+     * the old one, so the index follows the replacement; Caffeine then finds it in place and keeps it.
+     */
+    public Object reload(Object key, Object oldValue) {
+        Function<Pageable, ? extends Page<?>> source = pageSource;
+        if (source == null || !(key instanceof Pageable pageable)) {
+            return oldValue;
+        }
+        long stamp = mutations.get();
+        Page<?> page = source.apply(pageable);
+        if (nativeCache().asMap().replace(key, oldValue, page)) {
+            // Books that left the page stop pointing at it, the ones still on it are kept
+            unindex(key, oldValue);
+            published(key, page, stamp);
+        }
+        return page;
+    }
+
+    public void evictPagesContaining(String isbn) {
+        afterCommit(() -> evictPagesContainingNow(isbn));
+    }
+
+    private void evictPagesContainingNow(String isbn) {
+        long stamp = mutations.incrementAndGet();
+        isbnEvictionStamps.accumulateAndGet(stripe(isbn), stamp, Math::max);
+        lastMutationStamp = stamp;
+
+        Set<Object> keys = keysByIsbn.remove(isbn);
+        int evicted = 0;
+        if (keys != null) {
+            for (Object key : keys) {
+                if (remove(key)) {
+                    evicted++;
+                }
+            }
+        }
+        for (Object key : counterSortedKeys) {
+            if (remove(key)) {
+                evicted++;
+            }
+        }
+        evictedPages.record(evicted);
+    }
+
+    /**
+     * Called by Caffeine, within the eviction, for pages dropped by size, expiry or reference collection.
+     */
+    public void onEvicted(Object key, Object value) {
+        unindex(key, value);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    // Read without the loader, which only refreshes and would count every miss as a failed load
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = nativeCache().getIfPresent(key);
+        return value != null ? new SimpleValueWrapper(value) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        Object value = nativeCache().getIfPresent(key);
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    // Concurrent misses for a key still wait for a single load, but the load runs outside Caffeine's compute,
+    // which would hold a monitor during the page queries and pin a virtual thread to its carrier
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object cached = nativeCache().getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = loads.putIfAbsent(key, load);
+        if (running != null) {
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+        try {
+            long stamp = mutations.get();
+            T value = valueLoader.call();
+            if (value != null && nativeCache().asMap().putIfAbsent(key, value) == null) {
+                published(key, value, stamp);
+            }
+            load.complete(value);
+            return value;
+        } catch (Exception e) {
+            load.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    // @Cacheable puts with sync = false, after loading the value itself
+    @Override
+    public void put(Object key, Object value) {
+        long stamp = mutations.get();
+        Object oldValue = nativeCache().asMap().put(key, value);
+        if (oldValue != null) {
+            unindex(key, oldValue);
+        }
+        published(key, value, stamp);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        long stamp = mutations.get();
+        Object existing = nativeCache().asMap().putIfAbsent(key, value);
+        if (existing != null) {
+            return new SimpleValueWrapper(existing);
+        }
+        published(key, value, stamp);
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        afterCommit(() -> remove(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return remove(key);
+    }
+
+    @Override
+    public void clear() {
+        afterCommit(this::clearNow);
+    }
+
+    // Immediate, like the evictIfPresent and invalidate variants of other transaction-aware caches
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = nativeCache().estimatedSize() > 0;
+        clearNow();
+        return notEmpty;
+    }
+
+    private void clearNow() {
+        long stamp = mutations.incrementAndGet();
+        lastClearStamp = stamp;
+        lastMutationStamp = stamp;
+        evictedPages.record(nativeCache().estimatedSize());
+        delegate.clear();
+        keysByIsbn.clear();
+        counterSortedKeys.clear();
+    }
+
+    int indexedIsbns() {
+        return keysByIsbn.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache() {
+        return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) delegate.getNativeCache();
+    }
+
+    // Indexes a page once it is in the cache, then drops it again if it was loaded across an eviction of its books
+    private void published(Object key, Object value, long stamp) {
+        index(key, value);
+        if (isStale(value, stamp) && nativeCache().asMap().remove(key, value)) {
+            unindex(key, value);
+        }
+    }
+
+    private boolean isStale(Object value, long stamp) {
+        if (lastClearStamp > stamp) {
+            return true;
+        }
+        if (!(value instanceof Page<?> page)) {
+            return false;
+        }
+        if (isCounterSorted(page) && lastMutationStamp > stamp) {
+            return true;
+        }
+        for (Object content : page.getContent()) {
+            if (content instanceof Book book && isbnEvictionStamps.get(stripe(book.getIsbn())) > stamp) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean remove(Object key) {
+        Object value = nativeCache().asMap().remove(key);
+        if (value == null) {
+            return false;
+        }
+        unindex(key, value);
+        return true;
+    }
+
+    private void index(Object key, Object value) {
+        if (!(value instanceof Page<?> page)) {
+            return;
+        }
+        synchronized (lockFor(key)) {
+            if (isCounterSorted(page)) {
+                counterSortedKeys.add(key);
+            }
+            for (Object content : page.getContent()) {
+                if (content instanceof Book book) {
+                    keysByIsbn.computeIfAbsent(book.getIsbn(), isbn -> ConcurrentHashMap.newKeySet()).add(key);
+                }
+            }
+        }
+    }
+
+    // Keeps the entries still needed by whatever page the key holds now
+    private void unindex(Object key, Object value) {
+        if (!(value instanceof Page<?> page)) {
+            return;
+        }
+        synchronized (lockFor(key)) {
+            Object current = nativeCache().asMap().get(key);
+            Page<?> currentPage = current != value && current instanceof Page<?> p ? p : null;
+            if (currentPage == null) {
+                counterSortedKeys.remove(key);
+            }
+            for (Object content : page.getContent()) {
+                if (content instanceof Book book && !contains(currentPage, book.getIsbn())) {
+                    keysByIsbn.computeIfPresent(book.getIsbn(), (isbn, keys) -> {
+                        keys.remove(key);
+                        return keys.isEmpty() ? null : keys;
+                    });
+                }
+            }
+        }
+    }
+
+    private static boolean contains(Page<?> page, String isbn) {
+        if (page == null) {
+            return false;
+        }
+        for (Object content : page.getContent()) {
+            if (content instanceof Book book && book.getIsbn().equals(isbn)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCounterSorted(Page<?> page) {
+        return page.getSort().getOrderFor("availableCopies") != null;
+    }
+
+    private Object lockFor(Object key) {
+        return keyLocks[Math.floorMod(key.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private static int stripe(String isbn) {
+        return Math.floorMod(isbn.hashCode(), STAMP_STRIPES);
+    }
+}
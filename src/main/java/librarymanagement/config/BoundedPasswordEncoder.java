@@ -0,0 +1,113 @@
+package librarymanagement.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import librarymanagement.constants.Messages;
+import librarymanagement.exception.PasswordHashingBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the hashing of a delegate encoder on a small fixed pool, so a burst of logins cannot occupy
+ * more than that many cores. Requests beyond the queue capacity are rejected instead of waiting, and
+ * requests not done within the latency budget give up rather than hold their caller.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+    private static final String EXECUTOR_NAME = "password_hashing";
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final Duration latencyBudget;
+    private final Counter rejections;
+    private final Counter timeouts;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration latencyBudget,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.latencyBudget = latencyBudget;
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon().factory());
+        // Publishes queue depth and active threads, plus timers for queue wait (executor.idle) and hashing (executor)
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, EXECUTOR_NAME);
+        this.rejections = Counter.builder("password_hashing_rejected")
+                .description("Password hashes rejected because the hashing queue was full")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("password_hashing_timeouts")
+                .description("Password hashes abandoned because they did not finish within the latency budget")
+                .register(meterRegistry);
+        log.info("Hashing passwords on {} threads with a queue of {} and a latency budget of {}", threads, queueCapacity, latencyBudget);
+    }
+
+    /**
+     * The number of hashes that can wait and still finish within the budget, given how long one hash takes.
+     */
+    public static int queueCapacityFor(int threads, Duration latencyBudget, Duration hashTime) {
+        long perThread = latencyBudget.toNanos() / Math.max(1, hashTime.toNanos());
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, threads * perThread));
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            log.warn("Password hashing queue is full, rejecting request");
+            throw new PasswordHashingBusyException(Messages.SECURITY_LOGIN_BUSY);
+        }
+        try {
+            return future.get(latencyBudget.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // A hash still in the queue is skipped, one already running finishes but nobody waits for it
+            future.cancel(false);
+            timeouts.increment();
+            log.warn("Password hashing did not finish within {}, giving up", latencyBudget);
+            throw new PasswordHashingBusyException(Messages.SECURITY_LOGIN_BUSY);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException(Messages.SECURITY_LOGIN_BUSY);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -1,25 +1,140 @@
 package librarymanagement.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineStatsCounter;
+import librarymanagement.service.BookService;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
+    public static final String BOOK_PAGES = "book-pages";
+
+    /**
+     * Builds each cache from its {@code library.cache.specs} entry. Every cache reports hits, misses, loads and
+     * evictions by cause through its own Micrometer stats counter, tagged with the cache name. Spring Boot's cache
+     * metrics are excluded in application.yml so they are not registered twice.
+     */
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("books", "book-pages", "authors");
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(10_000)
-                .expireAfterAccess(Duration.ofHours(36))
-                .recordStats());
+    public CacheManager cacheManager(MeterRegistry meterRegistry, CacheProperties cacheProperties) {
+        AtomicReference<BookPageCache> bookPageCache = new AtomicReference<>();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected com.github.benmanes.caffeine.cache.Cache<Object, Object> createNativeCaffeineCache(String name) {
+                CacheProperties.Spec spec = cacheProperties.spec(name);
+                CaffeineStatsCounter statsCounter = new CaffeineStatsCounter(meterRegistry, name);
+                Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats(() -> statsCounter);
+                if (BOOK_PAGES.equals(name)) {
+                    builder.evictionListener((key, value, cause) -> bookPageCache.get().onEvicted(key, value));
+                }
+                if (spec.maximumWeight() != null) {
+                    builder.maximumWeight(spec.maximumWeight().toBytes()).weigher(new CacheWeigher());
+                } else {
+                    builder.maximumSize(spec.maximumSize());
+                }
+                if (spec.expireAfterAccess() != null) {
+                    builder.expireAfterAccess(spec.expireAfterAccess());
+                }
+                if (spec.expireAfterWrite() != null) {
+                    builder.expireAfterWrite(spec.expireAfterWrite());
+                }
+
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
+                if (spec.refreshAfterWrite() == null) {
+                    cache = builder.build();
+                } else if (BOOK_PAGES.equals(name)) {
+                    cache = builder.refreshAfterWrite(spec.refreshAfterWrite()).build(refreshOnlyLoader(bookPageCache));
+                } else {
+                    throw new IllegalStateException("refresh-after-write is only supported for the " + BOOK_PAGES + " cache");
+                }
+                statsCounter.registerSizeMetric(cache);
+                registerWeightedSize(meterRegistry, name, cache);
+                return cache;
+            }
+
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                Cache adapted = new FlushTrackingCache(super.adaptCaffeineCache(name, cache), meterRegistry);
+                if (BOOK_PAGES.equals(name)) {
+                    bookPageCache.set(new BookPageCache(adapted, meterRegistry));
+                    return bookPageCache.get();
+                }
+                // Puts, evictions and clears made in a transaction wait for its commit
+                return new TransactionAwareCacheDecorator(adapted);
+            }
+        };
+        cacheManager.setCacheNames(List.of("books", BOOK_PAGES, "authors"));
         return cacheManager;
     }
+
+    /**
+     * Turns on the Hibernate second-level cache for the entities annotated with {@code @Cache}, over Caffeine
+     * regions that are configured and instrumented like the Spring caches.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(MeterRegistry meterRegistry, CacheProperties cacheProperties) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, new CaffeineRegionFactory(meterRegistry, cacheProperties));
+        };
+    }
+
+    @Bean
+    public SerializedResponseCache serializedResponseCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                                           CacheProperties cacheProperties) {
+        return new SerializedResponseCache(objectMapper, meterRegistry,
+                cacheProperties.spec(SerializedResponseCache.CACHE_NAME));
+    }
+
+    @Bean
+    public BookPageCache bookPageCache(CacheManager cacheManager, ObjectProvider<BookService> bookService) {
+        BookPageCache bookPageCache = (BookPageCache) cacheManager.getCache(BOOK_PAGES);
+        bookPageCache.setPageSource(pageable -> bookService.getObject().loadPage(pageable));
+        return bookPageCache;
+    }
+
+    // Misses are still filled by @Cacheable, the loader only recomputes entries due for a refresh
+    private static CacheLoader<Object, Object> refreshOnlyLoader(AtomicReference<BookPageCache> bookPageCache) {
+        return new CacheLoader<>() {
+            @Override
+            public Object load(Object key) {
+                return null;
+            }
+
+            @Override
+            public Object reload(Object key, Object oldValue) {
+                return bookPageCache.get().reload(key, oldValue);
+            }
+        };
+    }
+
+    // Equal to the entry count for caches bounded by size
+    private static void registerWeightedSize(MeterRegistry meterRegistry, String name,
+                                             com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        Gauge.builder("cache.weighted.size", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(c.estimatedSize()))
+                        .orElse(c.estimatedSize()))
+                .description("The approximate accumulated weight of entries in this cache")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
 }
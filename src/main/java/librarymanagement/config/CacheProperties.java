@@ -0,0 +1,34 @@
+package librarymanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Caffeine policy of each cache, keyed by cache name under {@code library.cache.specs}.
+ */
+@ConfigurationProperties("library.cache")
+public record CacheProperties(Map<String, Spec> specs) {
+
+    /**
+     * @param maximumWeight     bound on the estimated heap size of the entries, see {@link CacheWeigher}
+     * @param maximumSize       bound on the entry count, for caches not bounded by weight
+     * @param refreshAfterWrite reload accessed entries this long after they were written, serving the old value meanwhile
+     */
+    public record Spec(DataSize maximumWeight, Long maximumSize, Duration expireAfterAccess,
+                       Duration expireAfterWrite, Duration refreshAfterWrite) {
+    }
+
+    public Spec spec(String cacheName) {
+        Spec spec = specs != null ? specs.get(cacheName) : null;
+        if (spec == null) {
+            throw new IllegalStateException("No library.cache.specs entry for cache " + cacheName);
+        }
+        if ((spec.maximumWeight() == null) == (spec.maximumSize() == null)) {
+            throw new IllegalStateException("Cache " + cacheName + " needs either maximum-weight or maximum-size");
+        }
+        return spec;
+    }
+}
@@ -0,0 +1,55 @@
+package librarymanagement.config;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import librarymanagement.model.Author;
+import librarymanagement.model.Book;
+
+/**
+ * Estimates the retained heap of a cache entry in bytes, so caches can be bounded by memory instead of entry count.
+ * A page of hydrated books weighs as much as its books, where a count bound treats it like a single book.
+ */
+public class CacheWeigher implements Weigher<Object, Object> {
+
+    // Rough shallow sizes with compressed oops: 16 byte headers, 2 bytes per char
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int BOOK_OVERHEAD = 120;
+    private static final int COLLECTION_OVERHEAD = 64;
+    private static final int ELEMENT_OVERHEAD = 32;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long weight = estimate(key) + estimate(value);
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    static long estimate(Object value) {
+        return switch (value) {
+            case null -> 0;
+            case String string -> STRING_OVERHEAD + 2L * string.length();
+            case Book book -> estimate(book);
+            // The lazy books collection of a cached author is never initialized
+            case Author author -> OBJECT_OVERHEAD + COLLECTION_OVERHEAD + estimate(author.getName());
+            case Iterable<?> elements -> {
+                long weight = COLLECTION_OVERHEAD;
+                for (Object element : elements) {
+                    weight += ELEMENT_OVERHEAD + estimate(element);
+                }
+                yield weight;
+            }
+            default -> OBJECT_OVERHEAD * 4;
+        };
+    }
+
+    private static long estimate(Book book) {
+        // The search text copies the title and author names, so those count twice
+        long weight = BOOK_OVERHEAD + estimate(book.getIsbn()) + 2 * estimate(book.getTitle());
+        if (book.getAuthors() != null) {
+            weight += COLLECTION_OVERHEAD;
+            for (Author author : book.getAuthors()) {
+                weight += ELEMENT_OVERHEAD + estimate(author) + 2L * author.getName().length();
+            }
+        }
+        return weight;
+    }
+}
@@ -0,0 +1,125 @@
+package librarymanagement.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineStatsCounter;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate second-level cache regions backed by Caffeine and sized from {@code library.cache.specs}, like the
+ * Spring caches. Each region reports hits, misses and evictions through its own Micrometer stats counter,
+ * tagged with the region name.
+ */
+public class CaffeineRegionFactory extends RegionFactoryTemplate {
+
+    private final MeterRegistry meterRegistry;
+    private final CacheProperties cacheProperties;
+    private final Map<String, Cache<Object, Object>> regions = new ConcurrentHashMap<>();
+
+    public CaffeineRegionFactory(MeterRegistry meterRegistry, CacheProperties cacheProperties) {
+        this.meterRegistry = meterRegistry;
+        this.cacheProperties = cacheProperties;
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(Cache::invalidateAll);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                   DomainDataRegionBuildingContext buildingContext) {
+        return new CaffeineStorageAccess(region(regionConfig.getRegionName()));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return new CaffeineStorageAccess(region(regionName));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return new CaffeineStorageAccess(region(regionName));
+    }
+
+    Cache<Object, Object> region(String name) {
+        return regions.computeIfAbsent(name, this::createRegion);
+    }
+
+    private Cache<Object, Object> createRegion(String name) {
+        CacheProperties.Spec spec = cacheProperties.spec(name);
+        if (spec.maximumSize() == null || spec.refreshAfterWrite() != null) {
+            // Cached entity state is not something CacheWeigher can size, and Hibernate does its own reloading
+            throw new IllegalStateException("Entity cache region " + name + " needs maximum-size and no refresh-after-write");
+        }
+
+        CaffeineStatsCounter statsCounter = new CaffeineStatsCounter(meterRegistry, name);
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spec.maximumSize())
+                .recordStats(() -> statsCounter);
+        if (spec.expireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.expireAfterAccess());
+        }
+        if (spec.expireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.expireAfterWrite());
+        }
+        Cache<Object, Object> cache = builder.build();
+        statsCounter.registerSizeMetric(cache);
+        return cache;
+    }
+
+    private record CaffeineStorageAccess(Cache<Object, Object> cache) implements DomainDataStorageAccess {
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return cache.getIfPresent(key);
+        }
+
+        // Read-write access stores loads through here too. Rows loaded from a replica may be older than the entry
+        // a recent update evicted, and writes never run in a replica transaction.
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            if (!ReplicaRoutingDataSource.isReplicaTransaction()) {
+                cache.put(key, value);
+            }
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return cache.asMap().containsKey(key);
+        }
+
+        @Override
+        public void evictData() {
+            cache.invalidateAll();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            cache.invalidate(key);
+        }
+
+        @Override
+        public void release() {
+            cache.invalidateAll();
+        }
+    }
+}
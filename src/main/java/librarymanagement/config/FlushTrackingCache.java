@@ -0,0 +1,110 @@
+package librarymanagement.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Records every full clear of a cache, tagged with the application method that asked for it,
+ * e.g. a {@code @CacheEvict(allEntries = true)} on {@code BookService.addBook}.
+ */
+public class FlushTrackingCache implements Cache {
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final String APPLICATION_PACKAGE = "librarymanagement.";
+    private static final String CONFIG_PACKAGE = "librarymanagement.config.";
+
+    private final Cache delegate;
+    private final MeterRegistry meterRegistry;
+
+    public FlushTrackingCache(Cache delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        recordFlush();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        recordFlush();
+        return delegate.invalidate();
+    }
+
+    private void recordFlush() {
+        var nativeCache = (com.github.benmanes.caffeine.cache.Cache<?, ?>) delegate.getNativeCache();
+        DistributionSummary.builder("cache_flushes")
+                .description("Full clears of a cache and the entries they dropped")
+                .tag("cache", delegate.getName())
+                .tag("reason", flushReason())
+                .register(meterRegistry)
+                .record(nativeCache.estimatedSize());
+    }
+
+    // Flushes are rare, so walking the stack is cheaper than threading a reason through every caller
+    private static String flushReason() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(CONFIG_PACKAGE))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+
+    // Caching annotations run in the CGLIB proxy, e.g. BookService$$SpringCGLIB$$0
+    private static String simpleName(String className) {
+        int proxySuffix = className.indexOf("$$");
+        String name = proxySuffix >= 0 ? className.substring(0, proxySuffix) : className;
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,35 @@
+package librarymanagement.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+
+/**
+ * Applies Micrometer's {@code @Timed} around {@code @Retryable} and {@code @Transactional}, so a timing
+ * covers every attempt and the commit. Micrometer's own aspect would end up inside the transaction.
+ */
+@Aspect
+public class OuterTimedAspect implements Ordered {
+
+    // @EnableRetry advises at LOWEST_PRECEDENCE - 1 and transactions at LOWEST_PRECEDENCE
+    static final int ORDER = Ordered.LOWEST_PRECEDENCE - 2;
+
+    private final TimedAspect timedAspect;
+
+    public OuterTimedAspect(MeterRegistry meterRegistry) {
+        this.timedAspect = new TimedAspect(meterRegistry);
+    }
+
+    @Around("execution(@io.micrometer.core.annotation.Timed * librarymanagement..*.*(..))")
+    public Object timedMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timedAspect.timedMethod(joinPoint);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,15 @@
+package librarymanagement.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps the read-only transactions of the annotated method on the primary. For loaders whose result is cached,
+ * so a lagging replica cannot put a value the last write already replaced back into the cache.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromPrimary {
+}
@@ -0,0 +1,18 @@
+package librarymanagement.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Routes {@link ReadFromPrimary} methods to the primary. The connection is only chosen at the first statement,
+ * so this works whether the aspect runs inside or outside the transaction.
+ */
+@Aspect
+public class ReadFromPrimaryAspect {
+
+    @Around("execution(@librarymanagement.config.ReadFromPrimary * librarymanagement..*.*(..))")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        return ReplicaRoutingDataSource.onPrimary(joinPoint::proceed);
+    }
+}
@@ -0,0 +1,221 @@
+package librarymanagement.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ * Reads fall back to the primary for users who wrote within the last max-lag, while no replica is within max-lag,
+ * and inside {@link ReadFromPrimary} methods.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+    // Bound to transactions reading from a replica, see #isReplicaTransaction
+    private static final Object REPLICA_TRANSACTION = new Object();
+    // Zero while the replica has replayed everything it received, so an idle primary does not look like lag
+    private static final String REPLICA_LAG_QUERY = """
+            SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END""";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    // Users whose recent writes may not have reached the replicas yet
+    private final Cache<String, Boolean> recentWriters;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+    private final Counter readWrites;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools, Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.maxLag = maxLag;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(maxLag)
+                .build();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (HikariDataSource pool : replicaPools) {
+            replicas.add(new Replica(pool));
+            targets.put(pool.getPoolName(), pool);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.primaryReads = routedCounter(meterRegistry, "read_only", PRIMARY);
+        this.replicaReads = routedCounter(meterRegistry, "read_only", "replica");
+        this.readWrites = routedCounter(meterRegistry, "read_write", PRIMARY);
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String type, String target) {
+        return Counter.builder("datasource_routed_connections")
+                .description("Connections handed out by the read/write routing data source")
+                .tag("type", type)
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String username = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readWrites.increment();
+            rememberWriter(username);
+            return PRIMARY;
+        }
+
+        if (PRIMARY_ONLY.get() != null) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        if (username != null && recentWriters.getIfPresent(username) != null) {
+            log.debug("Reading from the primary after a recent write by user: {}", username);
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+            if (replica.inSync) {
+                replicaReads.increment();
+                markReplicaTransaction();
+                return replica.pool.getPoolName();
+            }
+        }
+        primaryReads.increment();
+        return PRIMARY;
+    }
+
+    /**
+     * Takes replicas lagging more than max-lag out of rotation until they catch up. Only PostgreSQL reports its lag.
+     */
+    @Scheduled(fixedDelayString = "${library.datasource.replicas.lag-check-interval}")
+    public void checkReplicaLag() {
+        for (Replica replica : replicas) {
+            boolean inSync;
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement()) {
+                if (!connection.getMetaData().getDatabaseProductName().equals("PostgreSQL")) {
+                    continue;
+                }
+                try (ResultSet resultSet = statement.executeQuery(REPLICA_LAG_QUERY)) {
+                    resultSet.next();
+                    inSync = resultSet.getDouble(1) * 1000 <= maxLag.toMillis();
+                }
+            } catch (SQLException e) {
+                log.warn("Could not check lag of replica {}", replica.pool.getPoolName(), e);
+                inSync = false;
+            }
+            if (inSync != replica.inSync) {
+                log.warn("Replica {} is {}", replica.pool.getPoolName(), inSync ? "back in sync" : "lagging, reads go elsewhere");
+                replica.inSync = inSync;
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // The primary is a bean of its own and closed by the context
+        for (Replica replica : replicas) {
+            replica.pool.close();
+        }
+    }
+
+    /**
+     * Runs the action with every read-only transaction it starts on the primary.
+     */
+    public static <T> T onPrimary(PrimaryAction<T> action) throws Throwable {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return action.run();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            }
+        }
+    }
+
+    /**
+     * Whether the current transaction reads from a replica, whose rows may predate the latest commits.
+     * Values read in such a transaction should not be put into shared caches.
+     */
+    public static boolean isReplicaTransaction() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_TRANSACTION);
+    }
+
+    @FunctionalInterface
+    public interface PrimaryAction<T> {
+        T run() throws Throwable;
+    }
+
+    private static void markReplicaTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(REPLICA_TRANSACTION)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_TRANSACTION, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_TRANSACTION);
+            }
+        });
+    }
+
+    private void rememberWriter(String username) {
+        if (username == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(username, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static final class Replica {
+        private final HikariDataSource pool;
+        private volatile boolean inSync = true;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
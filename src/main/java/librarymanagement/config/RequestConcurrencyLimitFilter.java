@@ -0,0 +1,109 @@
+package librarymanagement.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import librarymanagement.constants.Messages;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets at most a fixed number of requests run at once. Others wait up to the permit timeout and are then
+ * answered with 503, instead of queueing without bound for a database connection.
+ * <p>
+ * Logins and registrations hash passwords and can wait on the hashing pool for a while, so they get a limit
+ * of their own and cannot take the permits of catalog reads. Actuator endpoints are not limited, so health
+ * checks still answer while the application is saturated.
+ */
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestConcurrencyLimitFilter.class);
+
+    static final Set<String> LOGIN_PATHS = Set.of("/api/login", "/api/register", "/admin/login", "/register");
+    private static final String ACTUATOR_PATH = "/actuator";
+
+    private final Limit requests;
+    private final Limit logins;
+    private final Duration permitTimeout;
+
+    public RequestConcurrencyLimitFilter(int maxConcurrentRequests, int maxConcurrentLogins, Duration permitTimeout,
+                                         MeterRegistry meterRegistry) {
+        this.requests = new Limit("requests", maxConcurrentRequests, meterRegistry);
+        this.logins = new Limit("logins", maxConcurrentLogins, meterRegistry);
+        this.permitTimeout = permitTimeout;
+        log.info("Limiting concurrent requests to {} and concurrent logins to {}", maxConcurrentRequests, maxConcurrentLogins);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals(ACTUATOR_PATH) || path.startsWith(ACTUATOR_PATH + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Limit limit = isLogin(request) ? logins : requests;
+        boolean acquired;
+        try {
+            acquired = limit.permits.tryAcquire(permitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            limit.rejections.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType("text/plain");
+            response.getWriter().write(Messages.SERVER_BUSY);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limit.permits.release();
+        }
+    }
+
+    private static boolean isLogin(HttpServletRequest request) {
+        return "POST".equals(request.getMethod())
+                && LOGIN_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    private static final class Limit {
+
+        private final Semaphore permits;
+        private final Counter rejections;
+
+        private Limit(String name, int maxConcurrent, MeterRegistry meterRegistry) {
+            this.permits = new Semaphore(maxConcurrent, true);
+            Gauge.builder("http_requests_permits_available", permits, Semaphore::availablePermits)
+                    .description("Requests that can still start before the concurrency limit is reached")
+                    .tag("limit", name)
+                    .register(meterRegistry);
+            Gauge.builder("http_requests_permits_waiting", permits, Semaphore::getQueueLength)
+                    .description("Requests waiting for the concurrency limit")
+                    .tag("limit", name)
+                    .register(meterRegistry);
+            this.rejections = Counter.builder("http_requests_rejected")
+                    .description("Requests answered with 503 because the concurrency limit was reached")
+                    .tag("limit", name)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package librarymanagement.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.interceptor.MethodInvocationRetryCallback;
+
+import java.lang.reflect.Method;
+
+/**
+ * Counts the retries of every {@code @Retryable} method, and the calls that still failed after retrying.
+ * Spring Retry applies listener beans to all annotated methods.
+ */
+public class RetryMetricsListener implements RetryListener {
+
+    private final MeterRegistry meterRegistry;
+
+    public RetryMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (!(callback instanceof MethodInvocationRetryCallback<T, E> methodCallback) || context.getLastThrowable() == null) {
+            return;
+        }
+
+        // Every failed attempt but a final one was followed by a retry
+        int failedAttempts = context.getRetryCount();
+        int retries = throwable == null ? failedAttempts : failedAttempts - 1;
+        if (retries == 0) {
+            return;
+        }
+
+        String method = methodName(methodCallback.getInvocation().getMethod());
+        Counter.builder("method_retries")
+                .description("Attempts of @Retryable methods repeated after a failure")
+                .tag("method", method)
+                .tag("exception", context.getLastThrowable().getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment(retries);
+        if (throwable != null) {
+            Counter.builder("method_retries_exhausted")
+                    .description("Calls of @Retryable methods that failed even after retrying")
+                    .tag("method", method)
+                    .tag("exception", throwable.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private static String methodName(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+}
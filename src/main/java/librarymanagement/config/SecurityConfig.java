@@ -2,31 +2,99 @@ package librarymanagement.config;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import librarymanagement.constants.Messages;
+import librarymanagement.dto.ApiTokenResponse;
+import librarymanagement.exception.PasswordHashingBusyException;
+import librarymanagement.service.ApiTokenService;
+import librarymanagement.service.LibraryUserDetails;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.logout.LogoutFilter;
+import org.springframework.security.web.savedrequest.NullRequestCache;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.util.ClassUtils;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    private static final String ARGON2_REQUIRED_CLASS = "org.bouncycastle.crypto.params.Argon2Parameters";
+    private static final String[] PUBLIC_API_PATHS = {
+            "/actuator/**",
+            "/api/register",
+            "/api/login",
+            "/api/books/**",
+            "/api/authors/**",
+            "/api/whoami"
+    };
+
+    /**
+     * Encodes new hashes with the configured encoder and still verifies hashes from the other ones.
+     * Logins with a hash from another encoder or BCrypt cost are rehashed by the user details service.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                                  @Value("${library.security.password.encoder}") String encoderId,
+                                                  @Value("${library.security.password.bcrypt-strength}") int bcryptStrength,
+                                                  @Value("${library.security.password.hashing-threads}") int hashingThreads,
+                                                  @Value("${library.security.password.hashing-queue-capacity:0}") int hashingQueueCapacity,
+                                                  @Value("${library.security.password.hashing-latency-budget}") Duration latencyBudget) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Pbkdf2PasswordEncoder pbkdf2 = Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+        // Base64 keeps the prefixed hash within the password column
+        pbkdf2.setEncodeHashAsBase64(true);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", pbkdf2);
+        if (ClassUtils.isPresent(ARGON2_REQUIRED_CLASS, null)) {
+            encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        }
+        if (!encoders.containsKey(encoderId)) {
+            throw new IllegalStateException("Unsupported password encoder '" + encoderId + "', available: " + encoders.keySet());
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encoderId, encoders);
+        // Hashes stored before encoder IDs were introduced are plain BCrypt
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        if (hashingQueueCapacity <= 0) {
+            // Time one hash at the configured cost, so the queue holds only what can finish within the budget
+            long start = System.nanoTime();
+            delegating.encode("calibration");
+            hashingQueueCapacity = BoundedPasswordEncoder.queueCapacityFor(hashingThreads, latencyBudget,
+                    Duration.ofNanos(System.nanoTime() - start));
+        }
+        return new BoundedPasswordEncoder(delegating, hashingThreads, hashingQueueCapacity, latencyBudget, meterRegistry);
     }
 
     @Bean
@@ -51,30 +119,41 @@ public class SecurityConfig {
 
     @Bean
     @Order(2)
-    public SecurityFilterChain apiChain(HttpSecurity http) throws Exception {
-        return http
+    public SecurityFilterChain apiChain(HttpSecurity http, ApiTokenService apiTokenService, ObjectMapper objectMapper) throws Exception {
+        http
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/actuator/**",
-                                "/api/register",
-                                "/api/login",
-                                "/api/books/**",
-                                "/api/authors/**",
-                                "/api/whoami").permitAll()
+                        .requestMatchers(PUBLIC_API_PATHS).permitAll()
                         .requestMatchers("/api/reservations/**").hasRole("CUSTOMER")
                         .requestMatchers("/api/admin/**", "/api/desk/**").hasRole("LIBRARIAN")
                         .anyRequest().hasRole("LIBRARIAN")
                 )
                 .formLogin(form -> form
                         .loginProcessingUrl("/api/login")
-                        .successHandler(this::apiSuccessHandler)
+                        .successHandler((request, response, auth) -> apiSuccessHandler(request, response, auth, apiTokenService, objectMapper))
                         .failureHandler(this::apiFailureHandler)
                 )
                 .logout(logout -> logout
                         .logoutUrl("/api/logout")
                         .logoutSuccessHandler(this::apiLogoutHandler)
                 )
-                .csrf(AbstractHttpConfigurer::disable)
-                .build();
+                .csrf(AbstractHttpConfigurer::disable);
+
+        if (apiTokenService.isEnabled()) {
+            // Customer logins get a token instead of a session. Staff sessions from /admin/login still work on the API.
+            http
+                    .addFilterBefore(new ApiTokenAuthenticationFilter(apiTokenService, publicApiPaths()), LogoutFilter.class)
+                    .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.NEVER))
+                    .requestCache(cache -> cache.requestCache(new NullRequestCache()))
+                    .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                    .logout(logout -> logout.addLogoutHandler((request, response, auth) ->
+                            ApiTokenAuthenticationFilter.bearerToken(request).ifPresent(apiTokenService::revoke)));
+        }
+        return http.build();
+    }
+
+    private static RequestMatcher publicApiPaths() {
+        PathPatternRequestMatcher.Builder paths = PathPatternRequestMatcher.withDefaults();
+        return new OrRequestMatcher(Arrays.stream(PUBLIC_API_PATHS).<RequestMatcher>map(paths::matcher).toList());
     }
 
     private void staffSuccessHandler(HttpServletRequest request, HttpServletResponse response, Authentication auth) throws IOException {
@@ -86,22 +165,41 @@ public class SecurityConfig {
     }
 
     private void staffFailureHandler(HttpServletRequest request, HttpServletResponse response, AuthenticationException ex) throws IOException {
+        if (ex instanceof PasswordHashingBusyException) {
+            response.sendRedirect("/login?busy=true");
+            return;
+        }
         response.sendRedirect("/login?error=true");
     }
 
-    private void apiSuccessHandler(HttpServletRequest request, HttpServletResponse response, Authentication auth) throws IOException {
+    private void apiSuccessHandler(HttpServletRequest request, HttpServletResponse response, Authentication auth,
+                                   ApiTokenService apiTokenService, ObjectMapper objectMapper) throws IOException {
         if (!hasRole(auth, "CUSTOMER")) {
             response.setStatus(HttpStatus.UNAUTHORIZED.value());
             response.setContentType("text/plain");
             response.getWriter().write(Messages.SECURITY_CUSTOMERS_ONLY);
             return;
         }
+        if (apiTokenService.isEnabled() && auth.getPrincipal() instanceof LibraryUserDetails userDetails) {
+            ApiTokenService.IssuedToken token = apiTokenService.issue(userDetails);
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getWriter(), new ApiTokenResponse(token.value(), "Bearer", token.expiresAt()));
+            return;
+        }
         response.setStatus(HttpStatus.OK.value());
         response.setContentType("text/plain");
         response.getWriter().write(Messages.SECURITY_LOGIN_SUCCESS);
     }
 
     private void apiFailureHandler(HttpServletRequest request, HttpServletResponse response, AuthenticationException ex) throws IOException {
+        if (ex instanceof PasswordHashingBusyException) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType("text/plain");
+            response.getWriter().write(Messages.SECURITY_LOGIN_BUSY);
+            return;
+        }
         response.setStatus(HttpStatus.UNAUTHORIZED.value());
         response.setContentType("text/plain");
         response.getWriter().write(Messages.SECURITY_LOGIN_FAILURE);
@@ -0,0 +1,153 @@
+package librarymanagement.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineStatsCounter;
+import librarymanagement.controller.PageTotalHeaderAdvice;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the JSON of cached catalog values ready to write, plain and gzipped, with a strong ETag per encoding.
+ * Entries are keyed by the identity of the value handed out by the "book-pages", "books" and "authors" caches,
+ * so the write paths that evict those caches retire the serialized copy too: a reloaded value is a new key, and
+ * the old entry goes once nothing holds its value anymore.
+ */
+public class SerializedResponseCache {
+
+    public static final String CACHE_NAME = "serialized-responses";
+    // Below this, gzip framing costs more than it saves
+    private static final int MIN_GZIP_BYTES = 512;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Object, SerializedResponse> responses;
+
+    record SerializedResponse(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+
+        int weight() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    public SerializedResponseCache(ObjectMapper objectMapper, MeterRegistry meterRegistry, CacheProperties.Spec spec) {
+        if (spec.maximumWeight() == null || spec.refreshAfterWrite() != null) {
+            throw new IllegalStateException("Cache " + CACHE_NAME + " needs maximum-weight and no refresh-after-write");
+        }
+        this.objectMapper = objectMapper;
+        CaffeineStatsCounter statsCounter = new CaffeineStatsCounter(meterRegistry, CACHE_NAME);
+        // Weak keys compare by identity, which is what ties an entry to one cached value
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumWeight(spec.maximumWeight().toBytes())
+                .recordStats(() -> statsCounter);
+        if (spec.expireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.expireAfterAccess());
+        }
+        if (spec.expireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.expireAfterWrite());
+        }
+        this.responses = builder
+                .weigher((Object key, SerializedResponse response) -> response.weight())
+                .build();
+        statsCounter.registerSizeMetric(responses);
+    }
+
+    /**
+     * Answers with the serialized body, gzipped if the client accepts it, or with 304 when If-None-Match
+     * already names the current representation.
+     */
+    public ResponseEntity<byte[]> respond(Object body, WebRequest request) {
+        SerializedResponse response = responses.get(body, this::serialize);
+        boolean gzip = response.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? response.gzipEtag() : response.etag();
+
+        boolean notModified = matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), response);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        // The body advice only sees the bytes, so the page header is set here
+        if (body instanceof Page<?> page) {
+            builder.header(PageTotalHeaderAdvice.TOTAL_EXACT_HEADER, String.valueOf(PageTotalHeaderAdvice.isTotalExact(page)));
+        }
+        if (notModified) {
+            return builder.build();
+        }
+        builder.contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzip());
+        }
+        return builder.body(response.json());
+    }
+
+    private SerializedResponse serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            String tag = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(Arrays.copyOf(MessageDigest.getInstance("SHA-256").digest(json), 16));
+            byte[] gzip = json.length >= MIN_GZIP_BYTES ? gzip(json) : null;
+            return new SerializedResponse(json, gzip, "\"" + tag + "\"", "\"" + tag + "-gzip\"");
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    // If-None-Match uses weak comparison, and both encodings carry the same content
+    private static boolean matches(String ifNoneMatch, SerializedResponse response) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(response.etag()) || candidate.equals(response.gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
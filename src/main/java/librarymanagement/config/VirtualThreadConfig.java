@@ -0,0 +1,56 @@
+package librarymanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Active with {@code spring.threads.virtual.enabled=true}. Spring Boot then runs {@code @Async} work and scheduled
+ * jobs on virtual threads by itself, but not Undertow requests, so those are dispatched here.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> virtualThreadRequestExecutor() {
+        return factory -> factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("undertow-request-", 0).factory())));
+    }
+
+    /**
+     * Without a worker pool nothing bounds how many requests wait on the connection pool,
+     * so concurrent requests are capped at a multiple of its size.
+     */
+    @Bean
+    public FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+            @Value("${library.threads.virtual.requests-per-connection}") int requestsPerConnection,
+            @Value("${library.threads.virtual.concurrent-logins}") int concurrentLogins,
+            @Value("${library.threads.virtual.request-permit-timeout}") Duration permitTimeout) {
+        FilterRegistrationBean<RequestConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new RequestConcurrencyLimitFilter(connectionPoolSize * requestsPerConnection, concurrentLogins,
+                        permitTimeout, meterRegistry));
+        // Before security, so a request turned away never reaches password hashing or the session store
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${library.threads.virtual.pinning-threshold}") Duration pinningThreshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, pinningThreshold);
+    }
+}
@@ -7,6 +7,8 @@ public class Messages {
     public static final String SECURITY_LOGIN_FAILURE = "Login failed";
     public static final String SECURITY_LOGOUT_SUCCESS = "Logout successful";
     public static final String SECURITY_CUSTOMERS_ONLY = "This login endpoint is for customers only";
+    public static final String SECURITY_TOKEN_INVALID = "Invalid or expired token";
+    public static final String SECURITY_LOGIN_BUSY = "Too many logins in progress, please try again shortly";
     // Book
     public static final String BOOK_NULL_ISBN = "Book ISBN cannot be null";
     public static final String BOOK_NOT_FOUND = "Book not found with ISBN: ";
@@ -16,6 +18,8 @@ public class Messages {
     public static final String BOOK_PUBLICATION_YEAR_VALIDATION_MESSAGE = "Publication year must be a positive integer";
     public static final String BOOK_ISBN_REGEX = "^(?:\\d{9}[\\dX]|97[89]\\d{10})$";
     public static final String BOOK_COPY_COUNT_VALIDATION_MESSAGE = "Available copies cannot be negative";
+    public static final String BOOK_IMPORT_INVALID_LINE = "Line is not a valid book: ";
+    public static final String BOOK_IMPORT_SAVE_FAILED = "Book could not be saved: ";
     // Author
     public static final String AUTHOR_NOT_FOUND = "Author not found with name: ";
     public static final String AUTHOR_NAME_VALIDATION_MESSAGE = "Name cannot be blank";
@@ -31,6 +35,13 @@ public class Messages {
     public static final String COPY_STATUS_VALIDATION_MESSAGE = "Status cannot be null";
     public static final String COPY_MINIMUM_QUANTITY_VALIDATION_MESSAGE = "Minimum quantity must be at least 1";
     public static final String COPY_MAXIMUM_QUANTITY_VALIDATION_MESSAGE = "Maximum quantity cannot exceed 100";
+    public static final String COPY_BULK_EMPTY_VALIDATION_MESSAGE = "At least one book must be given";
+    public static final String COPY_BULK_MAXIMUM_VALIDATION_MESSAGE = "At most 1000 books can be given at once";
+    // Desk
+    public static final String DESK_BATCH_EMPTY_VALIDATION_MESSAGE = "At least one operation must be given";
+    public static final String DESK_BATCH_MAXIMUM_VALIDATION_MESSAGE = "At most 100 operations can be given at once";
+    public static final String DESK_BATCH_ACTION_VALIDATION_MESSAGE = "Action cannot be null";
+    public static final String DESK_BATCH_CUSTOMER_REQUIRED = "Customer ID is required for action: ";
     // Customer
     public static final String CUSTOMER_NOT_FOUND = "Customer not found with ID: ";
     public static final String CUSTOMER_EMAIL_DUPLICATE = "Email already exists: ";
@@ -45,6 +56,10 @@ public class Messages {
     public static final String USER_USERNAME_VALIDATION_MESSAGE = "Username cannot be blank";
     public static final String USER_PASSWORD_VALIDATION_MESSAGE = "Password cannot be blank";
     public static final String USER_ROLE_VALIDATION_MESSAGE = "Role cannot be null";
+    // Pagination
+    public static final String PAGINATION_INVALID_CURSOR = "Invalid pagination cursor";
+    // Server
+    public static final String SERVER_BUSY = "The server is busy, please try again shortly";
 
     private Messages() {
     }
@@ -5,23 +5,38 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import librarymanagement.dto.AvailabilityDrift;
 import librarymanagement.dto.BookCreateRequest;
+import librarymanagement.dto.BookImportReport;
 import librarymanagement.dto.BookUpdateRequest;
 import librarymanagement.model.Book;
+import librarymanagement.service.AvailabilityReconciliationService;
+import librarymanagement.service.BookImportService;
 import librarymanagement.service.BookService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 @RestController
 @PreAuthorize("hasRole('LIBRARIAN')")
 @Tag(name = "Admin Book Operations", description = "Librarians can do CRUD operations on books. Requires LIBRARIAN role")
 public class AdminBookController {
 
     private final BookService bookService;
+    private final AvailabilityReconciliationService availabilityReconciliationService;
+    private final BookImportService bookImportService;
 
-    public AdminBookController(BookService bookService) {
+    public AdminBookController(BookService bookService,
+                               AvailabilityReconciliationService availabilityReconciliationService,
+                               BookImportService bookImportService) {
         this.bookService = bookService;
+        this.availabilityReconciliationService = availabilityReconciliationService;
+        this.bookImportService = bookImportService;
     }
 
     @Operation(summary = "Add a new book to the catalog")
@@ -37,6 +52,18 @@ public class AdminBookController {
         return bookService.addBook(bookCreateRequest);
     }
 
+    @Operation(summary = "Import books from an NDJSON stream",
+            description = "One book per line, in the same format as adding a book. Existing books are updated. " +
+                    "Lines are written in batches as they arrive; invalid lines are skipped and reported")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, created, updated and failed lines reported"),
+            @ApiResponse(responseCode = "403", description = "Requires LIBRARIAN role")
+    })
+    @PostMapping(value = "/api/admin/books/import", consumes = {"application/x-ndjson", MediaType.TEXT_PLAIN_VALUE})
+    public BookImportReport importBooks(InputStream body) throws IOException {
+        return bookImportService.importBooks(body);
+    }
+
     @Operation(summary = "Update an existing book's details")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Book updated successfully"),
@@ -61,4 +88,14 @@ public class AdminBookController {
         bookService.deleteBook(isbn);
     }
 
+    @Operation(summary = "Recompute available copy counters from copies",
+            description = "Corrects every book whose available copy counter drifted from its copies and reports them")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reconciliation finished, drifted books listed"),
+            @ApiResponse(responseCode = "403", description = "Requires LIBRARIAN role")
+    })
+    @PostMapping("/api/admin/books/reconcile-availability")
+    public List<AvailabilityDrift> reconcileAvailability() {
+        return availabilityReconciliationService.reconcile();
+    }
 }
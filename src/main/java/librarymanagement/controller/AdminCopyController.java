@@ -5,7 +5,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import librarymanagement.dto.CopyBulkCreateRequest;
+import librarymanagement.dto.CopyBulkCreateResponse;
 import librarymanagement.dto.CopyCreateRequest;
+import librarymanagement.dto.CopyListItem;
+import librarymanagement.dto.CursorPage;
 import librarymanagement.model.Copy;
 import librarymanagement.service.CopyService;
 import org.springframework.data.domain.Page;
@@ -33,10 +37,24 @@ public class AdminCopyController {
             @ApiResponse(responseCode = "403", description = "Requires LIBRARIAN role")
     })
     @GetMapping("/api/admin/copies")
-    public Page<Copy> getAllCopies(Pageable pageable) {
+    public Page<CopyListItem> getAllCopies(Pageable pageable) {
         return copyService.getAllCopies(pageable);
     }
 
+    @Operation(summary = "Get all copies using cursor pagination",
+            description = "Pass an empty cursor for the first page, then the nextCursor of the previous response. " +
+                    "Does not count the total number of copies")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Copies found"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "403", description = "Requires LIBRARIAN role")
+    })
+    @GetMapping(value = "/api/admin/copies", params = "cursor")
+    public CursorPage<CopyListItem> getCopiesAfterCursor(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        return copyService.getAllCopies(cursor, size);
+    }
+
     @Operation(summary = "Get a specific copy by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Copy found"),
@@ -54,7 +72,7 @@ public class AdminCopyController {
             @ApiResponse(responseCode = "403", description = "Requires LIBRARIAN role")
     })
     @GetMapping("/api/admin/copies/book/{isbn}")
-    public Page<Copy> getCopiesByBookIsbn(@PathVariable String isbn, Pageable pageable) {
+    public Page<CopyListItem> getCopiesByBookIsbn(@PathVariable String isbn, Pageable pageable) {
         return copyService.getCopiesByBookIsbn(isbn, pageable);
     }
 
@@ -70,4 +88,18 @@ public class AdminCopyController {
     public List<Copy> createCopies(@Valid @RequestBody CopyCreateRequest copyCreateRequest) {
         return copyService.addCopies(copyCreateRequest.bookIsbn(), copyCreateRequest.quantity());
     }
+
+    @Operation(summary = "Add new copies of many books at once",
+            description = "Copies are inserted in JDBC batches. Returns how many copies were created for each ISBN")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Copies created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data or validation errors"),
+            @ApiResponse(responseCode = "403", description = "Requires LIBRARIAN role"),
+            @ApiResponse(responseCode = "404", description = "A book was not found with one of the given ISBNs")
+    })
+    @PostMapping("/api/admin/copies/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public CopyBulkCreateResponse createCopiesInBulk(@Valid @RequestBody CopyBulkCreateRequest copyBulkCreateRequest) {
+        return copyService.addCopiesInBulk(copyBulkCreateRequest.copies());
+    }
 }
@@ -5,6 +5,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import librarymanagement.dto.CursorPage;
+import librarymanagement.dto.CustomerListItem;
 import librarymanagement.model.Customer;
 import librarymanagement.service.CustomerService;
 import org.springframework.data.domain.Page;
@@ -30,10 +32,24 @@ public class AdminCustomerController {
             @ApiResponse(responseCode = "403", description = "Requires LIBRARIAN role")
     })
     @GetMapping("/api/admin/customers")
-    public Page<Customer> getCustomers(Pageable pageable) {
+    public Page<CustomerListItem> getCustomers(Pageable pageable) {
         return customerService.getAllCustomers(pageable);
     }
 
+    @Operation(summary = "Get all customers using cursor pagination",
+            description = "Pass an empty cursor for the first page, then the nextCursor of the previous response. " +
+                    "Does not count the total number of customers")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customers found"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "403", description = "Requires LIBRARIAN role")
+    })
+    @GetMapping(value = "/api/admin/customers", params = "cursor")
+    public CursorPage<CustomerListItem> getCustomersAfterCursor(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "20") int size) {
+        return customerService.getAllCustomers(cursor, size);
+    }
+
     @Operation(summary = "Get a specific customer by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Customer found"),
@@ -1,8 +1,10 @@
 package librarymanagement.controller;
 
+import librarymanagement.dto.CopyListItem;
+import librarymanagement.dto.CountedPage;
+import librarymanagement.dto.CursorPage;
+import librarymanagement.dto.CustomerListItem;
 import librarymanagement.model.Book;
-import librarymanagement.model.Copy;
-import librarymanagement.model.Customer;
 import librarymanagement.service.BookService;
 import librarymanagement.service.CopyService;
 import librarymanagement.service.CustomerService;
@@ -43,7 +45,15 @@ public class AdminWebController {
 
     @GetMapping("/admin/books/browse")
     public String bookBrowsePage(
-            Model model, Pageable pageable, @RequestParam(required = false) String q) {
+            Model model, Pageable pageable,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor) {
+        if (cursor != null && (q == null || q.isBlank())) {
+            model.addAttribute("searchQuery", "");
+            addCursorAttributes(model, "books", bookService.getAllBooks(cursor, pageable.getPageSize()));
+            return "books-browse";
+        }
+
         Page<Book> books;
 
         if (q != null && !q.trim().isEmpty()) {
@@ -55,7 +65,9 @@ public class AdminWebController {
         }
 
         model.addAttribute("books", books);
+        model.addAttribute("cursorMode", false);
         model.addAttribute("bookCount", books.getTotalElements());
+        model.addAttribute("totalExact", isTotalExact(books));
 
         int currentPage = books.getNumber();
         int totalPages = books.getTotalPages();
@@ -85,9 +97,17 @@ public class AdminWebController {
     public String copyBrowsePage(
             Model model, Pageable pageable,
             @RequestParam(required = false) String q,
-            @RequestParam(required = false) String searchType) {
+            @RequestParam(required = false) String searchType,
+            @RequestParam(required = false) String cursor) {
+
+        if (cursor != null && (q == null || q.isBlank())) {
+            model.addAttribute("searchQuery", "");
+            model.addAttribute("searchType", "");
+            addCursorAttributes(model, "copies", copyService.getAllCopies(cursor, pageable.getPageSize()));
+            return "copies-browse";
+        }
 
-        Page<Copy> copies;
+        Page<CopyListItem> copies;
         String cleanQuery = (q != null) ? q.trim() : "";
 
         if (cleanQuery.isEmpty() || searchType == null) {
@@ -122,7 +142,9 @@ public class AdminWebController {
         }
 
         model.addAttribute("copies", copies);
+        model.addAttribute("cursorMode", false);
         model.addAttribute("copyCount", copies.getTotalElements());
+        model.addAttribute("totalExact", isTotalExact(copies));
 
         int currentPage = copies.getNumber();
         int totalPages = copies.getTotalPages();
@@ -144,8 +166,16 @@ public class AdminWebController {
     }
 
     @GetMapping("/admin/customers/browse")
-    public String customerBrowsePage(Model model, Pageable pageable, @RequestParam(required = false) String q) {
-        Page<Customer> customers;
+    public String customerBrowsePage(Model model, Pageable pageable,
+                                     @RequestParam(required = false) String q,
+                                     @RequestParam(required = false) String cursor) {
+        if (cursor != null && (q == null || q.isBlank())) {
+            model.addAttribute("searchQuery", "");
+            addCursorAttributes(model, "customers", customerService.getAllCustomers(cursor, pageable.getPageSize()));
+            return "customers-browse";
+        }
+
+        Page<CustomerListItem> customers;
 
         if (q != null && !q.trim().isEmpty()) {
             customers = customerService.getCustomersByLastName(q.trim(), pageable);
@@ -156,7 +186,9 @@ public class AdminWebController {
         }
 
         model.addAttribute("customers", customers);
+        model.addAttribute("cursorMode", false);
         model.addAttribute("customerCount", customers.getTotalElements());
+        model.addAttribute("totalExact", isTotalExact(customers));
 
         int currentPage = customers.getNumber();
         int totalPages = customers.getTotalPages();
@@ -181,4 +213,15 @@ public class AdminWebController {
     public String customerAddPage() {
         return "customers-add";
     }
+
+    private static boolean isTotalExact(Page<?> page) {
+        return !(page instanceof CountedPage<?> countedPage) || countedPage.isTotalExact();
+    }
+
+    private void addCursorAttributes(Model model, String itemsAttribute, CursorPage<?> page) {
+        model.addAttribute(itemsAttribute, page.content());
+        model.addAttribute("cursorMode", true);
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("totalPages", 0);
+    }
 }
\ No newline at end of file
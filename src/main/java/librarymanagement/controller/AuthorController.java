@@ -1,32 +1,44 @@
 package librarymanagement.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import librarymanagement.config.SerializedResponseCache;
 import librarymanagement.model.Author;
 import librarymanagement.service.AuthorService;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @Tag(name = "Public Browsing", description = "No auth required")
 public class AuthorController {
 
     private final AuthorService authorService;
+    private final SerializedResponseCache serializedResponseCache;
 
-    public AuthorController(AuthorService authorService) {
+    public AuthorController(AuthorService authorService, SerializedResponseCache serializedResponseCache) {
         this.authorService = authorService;
+        this.serializedResponseCache = serializedResponseCache;
     }
 
-    @Operation(summary = "Get all authors")
-    @ApiResponse(responseCode = "200", description = "Authors retrieved successfully")
+    @Operation(summary = "Get all authors",
+            description = "Carries an ETag; send it back in If-None-Match to get 304 while the page is unchanged")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Authors retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PagedModel.class))),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the given ETag")
+    })
     @GetMapping("/api/authors")
-    public Page<Author> getAuthors(Pageable pageable) {
-        return authorService.getAllAuthors(pageable);
+    public ResponseEntity<byte[]> getAuthors(Pageable pageable, WebRequest request) {
+        return serializedResponseCache.respond(authorService.getAllAuthors(pageable), request);
     }
 
     @Operation(summary = "Get author by name")
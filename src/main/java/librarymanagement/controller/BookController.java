@@ -1,17 +1,24 @@
 package librarymanagement.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import librarymanagement.config.SerializedResponseCache;
+import librarymanagement.dto.CursorPage;
 import librarymanagement.model.Book;
 import librarymanagement.service.BookService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 
 @RestController
@@ -19,26 +26,48 @@ import org.springframework.web.bind.annotation.RestController;
 public class BookController {
 
     private final BookService bookService;
+    private final SerializedResponseCache serializedResponseCache;
 
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, SerializedResponseCache serializedResponseCache) {
         this.bookService = bookService;
+        this.serializedResponseCache = serializedResponseCache;
     }
 
-    @Operation(summary = "Get all books")
-    @ApiResponse(responseCode = "200", description = "Books retrieved successfully")
+    @Operation(summary = "Get all books",
+            description = "Carries an ETag; send it back in If-None-Match to get 304 while the page is unchanged")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Books retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PagedModel.class))),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the given ETag")
+    })
     @GetMapping("/api/books")
-    public Page<Book> getAllBooks(Pageable pageable) {
-        return bookService.getAllBooks(pageable);
+    public ResponseEntity<byte[]> getAllBooks(Pageable pageable, WebRequest request) {
+        return serializedResponseCache.respond(bookService.getAllBooks(pageable), request);
+    }
+
+    @Operation(summary = "Get all books using cursor pagination",
+            description = "Pass an empty cursor for the first page, then the nextCursor of the previous response. " +
+                    "Does not count the total number of books")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Books retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    @GetMapping(value = "/api/books", params = "cursor")
+    public CursorPage<Book> getBooksAfterCursor(@RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "20") int size) {
+        return bookService.getAllBooks(cursor, size);
     }
 
     @Operation(summary = "Get book by ISBN")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Book found"),
+            @ApiResponse(responseCode = "200", description = "Book found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Book.class))),
+            @ApiResponse(responseCode = "304", description = "Book unchanged since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Book not found with the given ISBN")
     })
     @GetMapping("/api/books/{isbn}")
-    public Book getBookByIsbn(@PathVariable String isbn) {
-        return bookService.getBookByIsbn(isbn);
+    public ResponseEntity<byte[]> getBookByIsbn(@PathVariable String isbn, WebRequest request) {
+        return serializedResponseCache.respond(bookService.getBookByIsbn(isbn), request);
     }
 
     @Operation(summary = "Search books by title or author name",
@@ -8,6 +8,8 @@ import jakarta.validation.Valid;
 import librarymanagement.dto.CopyCheckoutRequest;
 import librarymanagement.dto.CopyMarkLostRequest;
 import librarymanagement.dto.CopyReturnRequest;
+import librarymanagement.dto.DeskBatchRequest;
+import librarymanagement.dto.DeskBatchResponse;
 import librarymanagement.model.Copy;
 import librarymanagement.service.CopyService;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -68,4 +70,18 @@ public class DeskController {
     public Copy markLost(@Valid @RequestBody CopyMarkLostRequest request) {
         return copyService.markLost(request.copyId());
     }
+
+    @Operation(summary = "Apply a batch of desk operations",
+            description = "Desk operation. Librarians can checkout, return and mark lost up to 100 copies in one request. " +
+                    "Operations run in order in one transaction; an operation that fails is reported in the results " +
+                    "and the others still apply. Requires LIBRARIAN role")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch applied, see the per-operation results"),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "403", description = "Requires LIBRARIAN role")
+    })
+    @PostMapping("/api/desk/batch")
+    public DeskBatchResponse batch(@Valid @RequestBody DeskBatchRequest request) {
+        return copyService.applyDeskBatch(request.operations());
+    }
 }
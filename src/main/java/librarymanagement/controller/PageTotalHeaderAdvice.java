@@ -0,0 +1,37 @@
+package librarymanagement.controller;
+
+import librarymanagement.dto.CountedPage;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+@ControllerAdvice
+public class PageTotalHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String TOTAL_EXACT_HEADER = "X-Total-Exact";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof Page<?> page) {
+            response.getHeaders().set(TOTAL_EXACT_HEADER, String.valueOf(isTotalExact(page)));
+        }
+        return body;
+    }
+
+    // Large unfiltered listings report a planner estimate rather than an exact total
+    public static boolean isTotalExact(Page<?> page) {
+        return !(page instanceof CountedPage<?> countedPage) || countedPage.isTotalExact();
+    }
+}
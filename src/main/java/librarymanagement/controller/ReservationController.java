@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import librarymanagement.dto.CopyListItem;
 import librarymanagement.dto.CopyReservationRequest;
 import librarymanagement.model.Copy;
 import librarymanagement.service.CopyService;
@@ -35,7 +36,7 @@ public class ReservationController {
             @ApiResponse(responseCode = "403", description = "Requires CUSTOMER role")
     })
     @GetMapping("/api/reservations/mine")
-    public Page<Copy> getMyReservations(Pageable pageable) {
+    public Page<CopyListItem> getMyReservations(Pageable pageable) {
         Long customerId = securityService.getCurrentCustomerId();
         return copyService.getCopiesByCustomerId(customerId, pageable);
     }
@@ -0,0 +1,6 @@
+package librarymanagement.dto;
+
+import java.time.Instant;
+
+public record ApiTokenResponse(String accessToken, String tokenType, Instant expiresAt) {
+}
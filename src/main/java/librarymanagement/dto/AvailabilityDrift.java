@@ -0,0 +1,8 @@
+package librarymanagement.dto;
+
+public record AvailabilityDrift(
+        String isbn,
+        Integer recordedCopies,
+        Long actualCopies
+) {
+}
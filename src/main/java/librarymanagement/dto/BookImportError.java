@@ -0,0 +1,4 @@
+package librarymanagement.dto;
+
+public record BookImportError(long line, String isbn, String message) {
+}
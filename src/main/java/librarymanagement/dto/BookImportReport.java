@@ -0,0 +1,6 @@
+package librarymanagement.dto;
+
+import java.util.List;
+
+public record BookImportReport(long processed, long created, long updated, long failed, List<BookImportError> errors) {
+}
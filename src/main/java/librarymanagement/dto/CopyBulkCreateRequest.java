@@ -0,0 +1,14 @@
+package librarymanagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import librarymanagement.constants.Messages;
+
+import java.util.List;
+
+public record CopyBulkCreateRequest(
+        @NotEmpty(message = Messages.COPY_BULK_EMPTY_VALIDATION_MESSAGE)
+        @Size(max = 1000, message = Messages.COPY_BULK_MAXIMUM_VALIDATION_MESSAGE)
+        List<@Valid CopyCreateRequest> copies) {
+}
@@ -0,0 +1,6 @@
+package librarymanagement.dto;
+
+import java.util.Map;
+
+public record CopyBulkCreateResponse(int created, Map<String, Integer> createdByIsbn) {
+}
@@ -0,0 +1,19 @@
+package librarymanagement.dto;
+
+import librarymanagement.model.CopyStatus;
+
+/**
+ * One row of a copy listing, read straight from the query without managed entities.
+ *
+ * @param authors the book's author names, comma separated in name order
+ */
+public record CopyListItem(Long id, CopyStatus status, String isbn, String title, String authors,
+                           Long customerId, String customerName) {
+
+    // Used by the constructor expressions in CopyRepository
+    public CopyListItem(Long id, CopyStatus status, String isbn, String title, String authors,
+                        Long customerId, String customerFirstName, String customerLastName) {
+        this(id, status, isbn, title, authors, customerId,
+                customerId != null ? customerFirstName + " " + customerLastName : null);
+    }
+}
@@ -0,0 +1,14 @@
+package librarymanagement.dto;
+
+import java.util.List;
+
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+    public static <T> CursorPage<T> empty(int size) {
+        return new CursorPage<>(List.of(), size, false, null);
+    }
+}
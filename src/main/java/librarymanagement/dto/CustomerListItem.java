@@ -0,0 +1,7 @@
+package librarymanagement.dto;
+
+/**
+ * One row of a customer listing, read straight from the query without managed entities.
+ */
+public record CustomerListItem(Long id, String firstName, String lastName, String email) {
+}
@@ -0,0 +1,16 @@
+package librarymanagement.dto;
+
+import jakarta.validation.constraints.NotNull;
+import librarymanagement.constants.Messages;
+
+public record DeskBatchItem(
+        @NotNull(message = Messages.DESK_BATCH_ACTION_VALIDATION_MESSAGE) Action action,
+        @NotNull Long copyId,
+        Long customerId // Required for CHECKOUT and RETURN
+) {
+    public enum Action {
+        CHECKOUT,
+        RETURN,
+        MARK_LOST
+    }
+}
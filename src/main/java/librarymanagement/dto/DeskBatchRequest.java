@@ -0,0 +1,14 @@
+package librarymanagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import librarymanagement.constants.Messages;
+
+import java.util.List;
+
+public record DeskBatchRequest(
+        @NotEmpty(message = Messages.DESK_BATCH_EMPTY_VALIDATION_MESSAGE)
+        @Size(max = 100, message = Messages.DESK_BATCH_MAXIMUM_VALIDATION_MESSAGE)
+        List<@Valid DeskBatchItem> operations) {
+}
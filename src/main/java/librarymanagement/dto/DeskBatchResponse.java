@@ -0,0 +1,8 @@
+package librarymanagement.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record DeskBatchResponse(int succeeded, int failed, Map<String, Integer> availableCopiesByIsbn,
+                                List<DeskBatchResult> results) {
+}
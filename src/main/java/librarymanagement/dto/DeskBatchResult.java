@@ -0,0 +1,15 @@
+package librarymanagement.dto;
+
+import librarymanagement.model.CopyStatus;
+
+public record DeskBatchResult(int index, DeskBatchItem.Action action, Long copyId, boolean succeeded,
+                              CopyStatus status, String error) {
+
+    public static DeskBatchResult succeeded(int index, DeskBatchItem item, CopyStatus status) {
+        return new DeskBatchResult(index, item.action(), item.copyId(), true, status, null);
+    }
+
+    public static DeskBatchResult failed(int index, DeskBatchItem item, String error) {
+        return new DeskBatchResult(index, item.action(), item.copyId(), false, null, error);
+    }
+}
@@ -9,12 +9,15 @@ import librarymanagement.constants.Messages;
 import org.hibernate.annotations.BatchSize;
 
 import java.util.LinkedHashSet;
+import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "books")
 public class Book {
+    private static final int SEARCH_TEXT_LENGTH = 2000;
+
     @Id
     @Column(unique = true, length = 13)
     @Pattern(
@@ -34,10 +37,16 @@ public class Book {
     @Min(value = 1, message = Messages.BOOK_PUBLICATION_YEAR_VALIDATION_MESSAGE)
     private Integer publicationYear;
 
-    @Column(nullable = false)
+    // Maintained by atomic counter updates in BookRepository, never by entity flushes
+    @Column(nullable = false, updatable = false)
     @Min(value = 0, message = Messages.BOOK_COPY_COUNT_VALIDATION_MESSAGE)
     private Integer availableCopies = 0;
 
+    // Lowercased title and author names, matched by the trigram index in schema.sql
+    @JsonIgnore
+    @Column(name = "search_text", length = SEARCH_TEXT_LENGTH)
+    private String searchText;
+
     @Version
     @JsonIgnore
     private Long version;
@@ -52,6 +61,7 @@ public class Book {
         this.authors = (authors != null) ? new LinkedHashSet<>(authors) : new LinkedHashSet<>();
         this.publicationYear = publicationYear;
         this.availableCopies = 0;
+        refreshSearchText();
     }
 
     @JsonIgnore
@@ -62,6 +72,16 @@ public class Book {
                 .collect(Collectors.joining(", "));
     }
 
+    @PrePersist
+    private void refreshSearchText() {
+        StringBuilder text = new StringBuilder(title != null ? title : "");
+        for (Author author : authors) {
+            text.append(' ').append(author.getName());
+        }
+        String lowered = text.toString().toLowerCase(Locale.ROOT);
+        searchText = lowered.length() > SEARCH_TEXT_LENGTH ? lowered.substring(0, SEARCH_TEXT_LENGTH) : lowered;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof Book) || getIsbn() == null || ((Book) o).getIsbn() == null) return false;
@@ -79,6 +99,7 @@ public class Book {
 
     public void setTitle(String title) {
         this.title = title;
+        refreshSearchText();
     }
 
     public Set<Author> getAuthors() {
@@ -97,6 +118,7 @@ public class Book {
                 this.authors.add(author);
             }
         }
+        refreshSearchText();
     }
 
     public Integer getPublicationYear() {
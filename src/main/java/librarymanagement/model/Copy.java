@@ -9,7 +9,9 @@ import librarymanagement.constants.Messages;
 @Table(name = "copies")
 public class Copy {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence allocation, so Hibernate can batch copy inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "copies_seq")
+    @SequenceGenerator(name = "copies_seq", sequenceName = "copies_seq", allocationSize = 50)
     private Long id;
 
     @Version
@@ -5,12 +5,19 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import librarymanagement.constants.Messages;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.LinkedHashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "customers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "l2-customers")
+@NaturalIdCache(region = "l2-customer-emails")
 public class Customer {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,6 +31,7 @@ public class Customer {
     @NotBlank(message = Messages.CUSTOMER_LASTNAME_VALIDATION_MESSAGE)
     private String lastName;
 
+    @NaturalId(mutable = true)
     @Column(unique = true, length = 150)
     @Pattern(regexp = Messages.CUSTOMER_EMAIL_REGEX,
             message = Messages.CUSTOMER_EMAIL_VALIDATION_MESSAGE)
@@ -0,0 +1,90 @@
+package librarymanagement.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A change to a book or copy, written in the transaction that made it and delivered afterwards by the outbox relay.
+ */
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    @Id
+    // Pooled sequence allocation, so the events of a desk batch are inserted in one JDBC batch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    @Enumerated(EnumType.STRING)
+    private OutboxEventType type;
+
+    @Column(nullable = false, length = 13)
+    private String isbn;
+
+    private Long copyId;
+
+    private Long customerId;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // Failed deliveries so far; the relay stops retrying at library.outbox.max-attempts
+    @Column(nullable = false)
+    private int attempts;
+
+    // Not relayed again before this time after a failed delivery
+    private Instant nextAttemptAt;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(OutboxEventType type, String isbn, Long copyId, Long customerId) {
+        this.type = type;
+        this.isbn = isbn;
+        this.copyId = copyId;
+        this.customerId = customerId;
+        this.createdAt = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public OutboxEventType getType() {
+        return type;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public Long getCopyId() {
+        return copyId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
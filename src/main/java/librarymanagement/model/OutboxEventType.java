@@ -0,0 +1,6 @@
+package librarymanagement.model;
+
+public enum OutboxEventType {
+    BOOK_CREATED, BOOK_UPDATED, BOOK_DELETED,
+    COPY_RESERVED, COPY_RESERVATION_CANCELLED, COPY_CHECKED_OUT, COPY_RETURNED, COPY_MARKED_LOST
+}
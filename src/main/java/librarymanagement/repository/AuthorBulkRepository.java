@@ -0,0 +1,21 @@
+package librarymanagement.repository;
+
+import librarymanagement.model.Author;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AuthorBulkRepository {
+
+    /**
+     * Inserts every author name that does not exist yet, in batched multi-row statements.
+     * Names inserted concurrently by another transaction are skipped rather than failing.
+     */
+    void insertMissing(Collection<String> names);
+
+    /**
+     * Loads the authors with the given names. Authors in the second-level cache are served without SQL,
+     * the rest are read in one batch.
+     */
+    List<Author> findAllByNames(Collection<String> names);
+}
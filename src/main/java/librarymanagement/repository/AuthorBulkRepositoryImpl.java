@@ -0,0 +1,65 @@
+package librarymanagement.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import librarymanagement.model.Author;
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+public class AuthorBulkRepositoryImpl implements AuthorBulkRepository {
+
+    // Keeps each statement well below driver bind parameter limits
+    private static final int ROWS_PER_STATEMENT = 500;
+
+    private final EntityManager entityManager;
+    private final boolean supportsOnConflict;
+
+    public AuthorBulkRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.supportsOnConflict = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @Override
+    public void insertMissing(Collection<String> names) {
+        List<String> distinctNames = names.stream().distinct().toList();
+        for (int from = 0; from < distinctNames.size(); from += ROWS_PER_STATEMENT) {
+            List<String> chunk = distinctNames.subList(from, Math.min(from + ROWS_PER_STATEMENT, distinctNames.size()));
+
+            StringJoiner values = new StringJoiner(", ");
+            for (int i = 0; i < chunk.size(); i++) {
+                values.add("(:name" + i + ")");
+            }
+            String sql = supportsOnConflict
+                    ? "INSERT INTO authors (name) VALUES " + values + " ON CONFLICT DO NOTHING"
+                    : "MERGE INTO authors (name) KEY (name) VALUES " + values;
+
+            Query query = entityManager.createNativeQuery(sql);
+            for (int i = 0; i < chunk.size(); i++) {
+                query.setParameter("name" + i, chunk.get(i));
+            }
+            // Only the author region is invalidated, instead of every second-level cache region
+            query.unwrap(NativeQuery.class).addSynchronizedEntityClass(Author.class);
+            query.executeUpdate();
+        }
+    }
+
+    @Override
+    public List<Author> findAllByNames(Collection<String> names) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Author.class)
+                .multiLoad(List.copyOf(names))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -1,34 +1,61 @@
 package librarymanagement.repository;
 
+import librarymanagement.dto.AvailabilityDrift;
 import librarymanagement.model.Book;
-import org.springframework.data.domain.Page;
+import librarymanagement.model.CopyStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, String> {
+public interface BookRepository extends JpaRepository<Book, String>, BookSearchRepository {
 
     boolean existsByIsbn(String isbn);
 
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+
     @Query("SELECT b FROM Book b LEFT JOIN FETCH b.authors WHERE b.isbn = :isbn")
     Optional<Book> findByIsbnWithAuthors(String isbn);
 
     @Query("SELECT b.isbn FROM Book b ORDER BY b.title")
-    Page<String> findAllIsbns(Pageable pageable);
+    List<String> findAllIsbns(Pageable pageable);
 
-    @Query("SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.authors WHERE b.isbn IN :isbns ORDER BY b.title")
-    List<Book> findByIsbnsWithAuthors(@Param("isbns") List<String> isbns);
+    @Query("SELECT b.isbn FROM Book b ORDER BY b.title, b.isbn")
+    List<String> findFirstIsbns(Pageable pageable);
 
-    @Query("SELECT b.isbn FROM Book b WHERE b.title ILIKE CONCAT('%', :term, '%') ORDER BY b.title")
-    Page<String> findIsbnsByTitleContaining(@Param("term") String term, Pageable pageable);
+    @Query("SELECT b.isbn FROM Book b " +
+            "WHERE b.title > :title OR (b.title = :title AND b.isbn > :isbn) " +
+            "ORDER BY b.title, b.isbn")
+    List<String> findIsbnsAfter(@Param("title") String title, @Param("isbn") String isbn, Pageable pageable);
+
+    @Query("SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.authors WHERE b.isbn IN :isbns ORDER BY b.title, b.isbn")
+    List<Book> findByIsbnsWithAuthors(@Param("isbns") List<String> isbns);
 
-    @Query("SELECT DISTINCT b.isbn FROM Book b JOIN b.authors a " +
-            "WHERE a.name ILIKE CONCAT('%', :term, '%') ORDER BY b.isbn")
-    Page<String> findIsbnsByAuthorContaining(@Param("term") String term, Pageable pageable);
-}
\ No newline at end of file
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies + :delta " +
+            "WHERE b.isbn = :isbn AND b.availableCopies + :delta >= 0")
+    int adjustAvailableCopies(@Param("isbn") String isbn, @Param("delta") int delta);
+
+    @Query("SELECT b.availableCopies FROM Book b WHERE b.isbn = :isbn")
+    Optional<Integer> findAvailableCopiesByIsbn(@Param("isbn") String isbn);
+
+    @Query("SELECT new librarymanagement.dto.AvailabilityDrift(b.isbn, b.availableCopies, COUNT(c)) FROM Book b " +
+            "LEFT JOIN Copy c ON c.book = b AND c.status = :status " +
+            "GROUP BY b.isbn, b.availableCopies " +
+            "HAVING b.availableCopies <> COUNT(c)")
+    List<AvailabilityDrift> findAvailabilityDrift(@Param("status") CopyStatus status);
+
+    @Modifying
+    @Query("UPDATE Book b SET b.availableCopies = " +
+            "(SELECT CAST(COUNT(c) AS Integer) FROM Copy c WHERE c.book.isbn = :isbn AND c.status = :status) " +
+            "WHERE b.isbn = :isbn")
+    int recountAvailableCopies(@Param("isbn") String isbn, @Param("status") CopyStatus status);
+}
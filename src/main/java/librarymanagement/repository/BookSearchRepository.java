@@ -0,0 +1,18 @@
+package librarymanagement.repository;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface BookSearchRepository {
+
+    /**
+     * Ranked match of every search token against book titles and author names in a single query.
+     * Books whose title starts with the term come first.
+     *
+     * @return ISBNs of the requested page in rank order
+     */
+    List<String> searchIsbns(String term, Pageable pageable);
+
+    long countSearchMatches(String term);
+}
@@ -0,0 +1,103 @@
+package librarymanagement.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+public class BookSearchRepositoryImpl implements BookSearchRepository {
+
+    private static final int MAX_TOKENS = 8;
+
+    private final EntityManager entityManager;
+    private final boolean supportsTrigrams;
+
+    public BookSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.supportsTrigrams = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @Override
+    public List<String> searchIsbns(String term, Pageable pageable) {
+        List<String> tokens = tokenize(term);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        String rank = "CASE WHEN search_text LIKE :prefix ESCAPE '\\' THEN 0 ELSE 1 END, " +
+                "CASE WHEN LOWER(title) LIKE :contains ESCAPE '\\' THEN 0 ELSE 1 END, " +
+                (supportsTrigrams ? "word_similarity(:term, search_text) DESC, " : "") +
+                "title, isbn";
+        Query query = entityManager.createNativeQuery(
+                "SELECT isbn FROM books WHERE " + matchClause(tokens) + " ORDER BY " + rank +
+                        " LIMIT :limit OFFSET :offset", String.class);
+        bindTokens(query, tokens);
+
+        String normalized = String.join(" ", tokens);
+        query.setParameter("prefix", escapeLike(normalized) + "%")
+                .setParameter("contains", "%" + escapeLike(normalized) + "%")
+                .setParameter("limit", pageable.getPageSize())
+                .setParameter("offset", pageable.getOffset());
+        if (supportsTrigrams) {
+            query.setParameter("term", normalized);
+        }
+
+        List<?> isbns = query.getResultList();
+        return isbns.stream()
+                .map(String.class::cast)
+                .toList();
+    }
+
+    @Override
+    public long countSearchMatches(String term) {
+        List<String> tokens = tokenize(term);
+        if (tokens.isEmpty()) {
+            return 0;
+        }
+
+        Query query = entityManager.createNativeQuery("SELECT COUNT(*) FROM books WHERE " + matchClause(tokens));
+        bindTokens(query, tokens);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    // Every token has to match somewhere in the title or author names.
+    // On PostgreSQL a token within trigram word similarity also matches, which tolerates typos.
+    private String matchClause(List<String> tokens) {
+        StringJoiner clause = new StringJoiner(" AND ");
+        for (int i = 0; i < tokens.size(); i++) {
+            String contains = "search_text LIKE :token" + i + " ESCAPE '\\'";
+            clause.add(supportsTrigrams ? "(" + contains + " OR :word" + i + " <% search_text)" : contains);
+        }
+        return clause.toString();
+    }
+
+    private void bindTokens(Query query, List<String> tokens) {
+        for (int i = 0; i < tokens.size(); i++) {
+            query.setParameter("token" + i, "%" + escapeLike(tokens.get(i)) + "%");
+            if (supportsTrigrams) {
+                query.setParameter("word" + i, tokens.get(i));
+            }
+        }
+    }
+
+    private static List<String> tokenize(String term) {
+        return Arrays.stream(term.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .limit(MAX_TOKENS)
+                .toList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,14 @@
+package librarymanagement.repository;
+
+import java.util.Map;
+
+public interface CopyBulkInsertRepository {
+
+    /**
+     * Inserts the given number of available copies for each ISBN. The persistence context is flushed and
+     * cleared after every JDBC batch, so it never holds more than one batch of copies.
+     *
+     * @return the number of copies inserted
+     */
+    int insertAvailableCopies(Map<String, Integer> quantityByIsbn);
+}
@@ -0,0 +1,46 @@
+package librarymanagement.repository;
+
+import jakarta.persistence.EntityManager;
+import librarymanagement.model.Book;
+import librarymanagement.model.Copy;
+import librarymanagement.model.CopyStatus;
+import org.hibernate.cfg.AvailableSettings;
+
+import java.util.Map;
+
+public class CopyBulkInsertRepositoryImpl implements CopyBulkInsertRepository {
+
+    private static final int DEFAULT_BATCH_SIZE = 50;
+
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public CopyBulkInsertRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        Object configured = entityManager.getEntityManagerFactory().getProperties().get(AvailableSettings.STATEMENT_BATCH_SIZE);
+        this.batchSize = configured != null ? Integer.parseInt(configured.toString()) : DEFAULT_BATCH_SIZE;
+    }
+
+    @Override
+    public int insertAvailableCopies(Map<String, Integer> quantityByIsbn) {
+        // Anything pending is written first, so clearing below cannot drop it
+        entityManager.flush();
+        int inserted = 0;
+        for (Map.Entry<String, Integer> entry : quantityByIsbn.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                Copy copy = new Copy();
+                // A reference is enough for the foreign key and stays valid across clears
+                copy.setBook(entityManager.getReference(Book.class, entry.getKey()));
+                copy.setStatus(CopyStatus.AVAILABLE);
+                entityManager.persist(copy);
+                if (++inserted % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return inserted;
+    }
+}
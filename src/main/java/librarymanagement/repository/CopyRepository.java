@@ -1,24 +1,24 @@
 package librarymanagement.repository;
 
+import librarymanagement.dto.CopyListItem;
 import librarymanagement.model.Copy;
-import librarymanagement.model.CopyStatus;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface CopyRepository extends JpaRepository<Copy, Long> {
-
-    Optional<Copy> findFirstByBookIsbnAndStatus(String isbn, CopyStatus status);
+public interface CopyRepository extends JpaRepository<Copy, Long>, CopyReservationRepository, CopyBulkInsertRepository {
 
     @Query("SELECT c.id FROM Copy c ORDER BY c.id")
-    Page<Long> findAllIds(Pageable pageable);
+    List<Long> findAllIds(Pageable pageable);
+
+    @Query("SELECT c.id FROM Copy c WHERE c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Pageable pageable);
 
     @Query("SELECT DISTINCT c FROM Copy c " +
             "LEFT JOIN FETCH c.book b " +
@@ -27,15 +27,40 @@ public interface CopyRepository extends JpaRepository<Copy, Long> {
             "WHERE c.id IN :ids ORDER BY c.id")
     List<Copy> findByIdsWithAllRelations(@Param("ids") List<Long> ids);
 
+    // Authors are aggregated in the database, so a multi-author book still gives one row per copy
+    @Query("SELECT new librarymanagement.dto.CopyListItem(c.id, c.status, b.isbn, b.title, " +
+            "LISTAGG(a.name, ', ') WITHIN GROUP (ORDER BY a.name), cu.id, cu.firstName, cu.lastName) " +
+            "FROM Copy c JOIN c.book b LEFT JOIN b.authors a LEFT JOIN c.customer cu " +
+            "WHERE c.id IN :ids " +
+            "GROUP BY c.id, c.status, b.isbn, b.title, cu.id, cu.firstName, cu.lastName " +
+            "ORDER BY c.id")
+    List<CopyListItem> findListItemsByIds(@Param("ids") List<Long> ids);
+
+    @Query("SELECT c FROM Copy c " +
+            "JOIN FETCH c.book " +
+            "LEFT JOIN FETCH c.customer " +
+            "WHERE c.id IN :ids")
+    List<Copy> findByIdsWithBookAndCustomer(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT c.id FROM Copy c WHERE c.book.isbn = :isbn ORDER BY c.id")
-    Page<Long> findIdsByBookIsbn(@Param("isbn") String isbn, Pageable pageable);
+    List<Long> findIdsByBookIsbn(@Param("isbn") String isbn, Pageable pageable);
+
+    long countByBookIsbn(String isbn);
 
     @Query("SELECT c.id FROM Copy c WHERE c.customer.id = :customerId ORDER BY c.id")
-    Page<Long> findIdsByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+    List<Long> findIdsByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+
+    long countByCustomerId(Long customerId);
 
     @Query("SELECT c.id FROM Copy c WHERE c.book.title ILIKE CONCAT('%', :title, '%') ORDER BY c.id")
-    Page<Long> findIdsByBookTitle(@Param("title") String title, Pageable pageable);
+    List<Long> findIdsByBookTitle(@Param("title") String title, Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM Copy c WHERE c.book.title ILIKE CONCAT('%', :title, '%')")
+    long countByBookTitle(@Param("title") String title);
 
     @Query("SELECT c.id FROM Copy c WHERE c.customer.lastName ILIKE CONCAT('%', :lastName, '%') ORDER BY c.id")
-    Page<Long> findIdsByCustomerLastName(@Param("lastName") String lastName, Pageable pageable);
+    List<Long> findIdsByCustomerLastName(@Param("lastName") String lastName, Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM Copy c WHERE c.customer.lastName ILIKE CONCAT('%', :lastName, '%')")
+    long countByCustomerLastName(@Param("lastName") String lastName);
 }
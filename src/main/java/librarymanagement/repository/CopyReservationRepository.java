@@ -0,0 +1,16 @@
+package librarymanagement.repository;
+
+import librarymanagement.model.Copy;
+
+import java.util.Optional;
+
+public interface CopyReservationRepository {
+
+    /**
+     * Atomically moves one available copy of the book to RESERVED for the customer.
+     * Concurrent callers skip rows locked by each other, so each one claims a different copy.
+     *
+     * @return the claimed copy, or empty if no copy is available
+     */
+    Optional<Copy> claimAvailableCopy(String isbn, Long customerId);
+}
@@ -0,0 +1,84 @@
+package librarymanagement.repository;
+
+import jakarta.persistence.EntityManager;
+import librarymanagement.model.Copy;
+import org.hibernate.Hibernate;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.util.List;
+import java.util.Optional;
+
+public class CopyReservationRepositoryImpl implements CopyReservationRepository {
+
+    private static final String CLAIM_RETURNING = """
+            UPDATE copies SET status = 'RESERVED', customer_id = :customerId, version = version + 1
+            WHERE id = (SELECT id FROM copies WHERE book_isbn = :isbn AND status = 'AVAILABLE'
+                        ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED)
+            RETURNING id""";
+    private static final String FIND_CANDIDATES = """
+            SELECT id FROM copies WHERE book_isbn = :isbn AND status = 'AVAILABLE'
+            ORDER BY id LIMIT :limit""";
+    private static final String RESERVE_IF_AVAILABLE = """
+            UPDATE copies SET status = 'RESERVED', customer_id = :customerId, version = version + 1
+            WHERE id = :id AND status = 'AVAILABLE'""";
+    private static final int CANDIDATE_BATCH_SIZE = 16;
+
+    private final EntityManager entityManager;
+    private final boolean supportsReturning;
+
+    public CopyReservationRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.supportsReturning = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @Override
+    public Optional<Copy> claimAvailableCopy(String isbn, Long customerId) {
+        return claimAvailableCopyId(isbn, customerId).map(this::loadClaimedCopy);
+    }
+
+    private Optional<Long> claimAvailableCopyId(String isbn, Long customerId) {
+        if (supportsReturning) {
+            List<?> claimed = entityManager.createNativeQuery(CLAIM_RETURNING)
+                    .setParameter("isbn", isbn)
+                    .setParameter("customerId", customerId)
+                    .getResultList();
+            return claimed.stream().findFirst().map(id -> ((Number) id).longValue());
+        }
+
+        // Without UPDATE ... RETURNING, claim candidates with a conditional update until one wins.
+        // A row claimed by a concurrent transaction no longer matches once that transaction commits.
+        List<?> candidates;
+        do {
+            candidates = entityManager.createNativeQuery(FIND_CANDIDATES)
+                    .setParameter("isbn", isbn)
+                    .setParameter("limit", CANDIDATE_BATCH_SIZE)
+                    .getResultList();
+            for (Object candidate : candidates) {
+                long copyId = ((Number) candidate).longValue();
+                int claimed = entityManager.createNativeQuery(RESERVE_IF_AVAILABLE)
+                        .setParameter("customerId", customerId)
+                        .setParameter("id", copyId)
+                        .unwrap(NativeQuery.class)
+                        .addSynchronizedEntityClass(Copy.class)
+                        .executeUpdate();
+                if (claimed == 1) {
+                    return Optional.of(copyId);
+                }
+            }
+        } while (candidates.size() == CANDIDATE_BATCH_SIZE);
+
+        return Optional.empty();
+    }
+
+    private Copy loadClaimedCopy(long copyId) {
+        // The copy may already be managed with its pre-claim state, so always re-read it
+        Copy copy = entityManager.getReference(Copy.class, copyId);
+        entityManager.refresh(copy);
+        return Hibernate.unproxy(copy, Copy.class);
+    }
+}
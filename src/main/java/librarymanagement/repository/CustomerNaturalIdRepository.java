@@ -0,0 +1,13 @@
+package librarymanagement.repository;
+
+import librarymanagement.model.Customer;
+
+import java.util.Optional;
+
+public interface CustomerNaturalIdRepository {
+
+    /**
+     * Looks the customer up by its email natural id, so a cached email resolves without SQL.
+     */
+    Optional<Customer> findByEmail(String email);
+}
@@ -0,0 +1,26 @@
+package librarymanagement.repository;
+
+import jakarta.persistence.EntityManager;
+import librarymanagement.model.Customer;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Fragment methods get no repository transaction, and the unwrapped Session needs one to stay open
+@Transactional(readOnly = true)
+public class CustomerNaturalIdRepositoryImpl implements CustomerNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    public CustomerNaturalIdRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Customer> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Customer.class)
+                .loadOptional(email);
+    }
+}
@@ -1,7 +1,7 @@
 package librarymanagement.repository;
 
+import librarymanagement.dto.CustomerListItem;
 import librarymanagement.model.Customer;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -9,21 +9,33 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
-    Optional<Customer> findByEmail(String email);
-
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerNaturalIdRepository {
     boolean existsByEmail(String email);
 
     @Query("SELECT c.id FROM Customer c ORDER BY c.lastName, c.firstName")
-    Page<Long> findAllIds(Pageable pageable);
+    List<Long> findAllIds(Pageable pageable);
+
+    @Query("SELECT c.id FROM Customer c ORDER BY c.lastName, c.firstName, c.id")
+    List<Long> findFirstIds(Pageable pageable);
 
-    @Query("SELECT c FROM Customer c " +
-            "WHERE c.id IN :ids ORDER BY c.lastName, c.firstName")
-    List<Customer> findByIds(@Param("ids") List<Long> ids);
+    @Query("SELECT c.id FROM Customer c " +
+            "WHERE c.lastName > :lastName OR (c.lastName = :lastName " +
+            "AND (c.firstName > :firstName OR (c.firstName = :firstName AND c.id > :id))) " +
+            "ORDER BY c.lastName, c.firstName, c.id")
+    List<Long> findIdsAfter(@Param("lastName") String lastName,
+                            @Param("firstName") String firstName,
+                            @Param("id") long id,
+                            Pageable pageable);
+
+    @Query("SELECT new librarymanagement.dto.CustomerListItem(c.id, c.firstName, c.lastName, c.email) " +
+            "FROM Customer c WHERE c.id IN :ids ORDER BY c.lastName, c.firstName, c.id")
+    List<CustomerListItem> findListItemsByIds(@Param("ids") List<Long> ids);
 
     @Query("SELECT c.id FROM Customer c WHERE c.lastName ILIKE CONCAT('%', :lastName, '%') ORDER BY c.lastName, c.firstName")
-    Page<Long> findIdsByLastName(@Param("lastName") String lastName, Pageable pageable);
+    List<Long> findIdsByLastName(@Param("lastName") String lastName, Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM Customer c WHERE c.lastName ILIKE CONCAT('%', :lastName, '%')")
+    long countByLastName(@Param("lastName") String lastName);
 }
@@ -0,0 +1,23 @@
+package librarymanagement.repository;
+
+import librarymanagement.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest deliverable events. Rows locked by another relay are skipped rather than waited for,
+     * so several instances can drain the outbox side by side. Events still backing off from a failure are left out.
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE attempts < :maxAttempts " +
+            "AND (next_attempt_at IS NULL OR next_attempt_at <= :now) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("maxAttempts") int maxAttempts, @Param("now") Instant now, @Param("limit") int limit);
+}
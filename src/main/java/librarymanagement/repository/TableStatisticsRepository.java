@@ -0,0 +1,42 @@
+package librarymanagement.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class TableStatisticsRepository {
+
+    private final EntityManager entityManager;
+    private final boolean supportsEstimates;
+
+    public TableStatisticsRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.supportsEstimates = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+
+    /**
+     * Planner row estimate kept up to date by autovacuum. Empty when the database has no statistics for the table.
+     */
+    public Optional<Long> estimateRowCount(String table) {
+        if (!supportsEstimates) {
+            return Optional.empty();
+        }
+
+        List<?> estimate = entityManager
+                .createNativeQuery("SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass(:table)")
+                .setParameter("table", table)
+                .getResultList();
+        return estimate.stream()
+                .map(rows -> ((Number) rows).longValue())
+                .filter(rows -> rows >= 0)
+                .findFirst();
+    }
+}
@@ -0,0 +1,13 @@
+package librarymanagement.repository;
+
+import librarymanagement.model.User;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+
+    /**
+     * Looks the user up by its username natural id, so a cached username resolves without SQL.
+     */
+    Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,142 @@
+package librarymanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import librarymanagement.model.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and verifies HMAC-SHA256 signed JWTs for the customer API. A token carries everything the
+ * principal needs, so verifying it takes no database or session lookup.
+ */
+@Service
+public class ApiTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiTokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = BASE64_ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final boolean enabled;
+    private final Duration ttl;
+    // The first key signs, all of them verify, so a key can be rotated out once its tokens have expired
+    private final List<SecretKeySpec> keys;
+    private final ObjectMapper objectMapper;
+    // Token IDs revoked by logout, kept only until the longest-lived token would have expired anyway
+    private final Cache<String, Boolean> revokedTokenIds;
+
+    public ApiTokenService(@Value("${library.security.token.enabled}") boolean enabled,
+                           @Value("${library.security.token.ttl}") Duration ttl,
+                           @Value("${library.security.token.secrets}") List<String> secrets,
+                           ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.objectMapper = objectMapper;
+        this.keys = secrets.stream()
+                .filter(secret -> !secret.isBlank())
+                .map(secret -> new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM))
+                .toList();
+        if (enabled && (keys.isEmpty() || keys.stream().anyMatch(key -> key.getEncoded().length < MIN_SECRET_BYTES))) {
+            throw new IllegalStateException("Token authentication needs secrets of at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        this.revokedTokenIds = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public record IssuedToken(String value, Instant expiresAt) {
+    }
+
+    private record Claims(String sub, Long uid, Long cid, Role role, long iat, long exp, String jti) {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public IssuedToken issue(LibraryUserDetails user) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(ttl);
+        Claims claims = new Claims(user.getUsername(), user.getUserId(), user.getCustomerId(), user.getRole(),
+                now.getEpochSecond(), expiresAt.getEpochSecond(), UUID.randomUUID().toString());
+
+        String signingInput;
+        try {
+            signingInput = HEADER + "." + BASE64_ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        log.debug("Issuing API token for user: {}", user.getUsername());
+        return new IssuedToken(signingInput + "." + BASE64_ENCODER.encodeToString(sign(keys.getFirst(), signingInput)), expiresAt);
+    }
+
+    /**
+     * @return the principal the token was issued for, or empty if the token is malformed, forged, expired or revoked
+     */
+    public Optional<LibraryUserDetails> authenticate(String token) {
+        return verify(token).map(claims -> new LibraryUserDetails(claims.uid(), claims.sub(), null, claims.role(), claims.cid()));
+    }
+
+    public void revoke(String token) {
+        verify(token).ifPresent(claims -> {
+            log.debug("Revoking API token of user: {}", claims.sub());
+            revokedTokenIds.put(claims.jti(), Boolean.TRUE);
+        });
+    }
+
+    private Optional<Claims> verify(String token) {
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 3 || !HEADER.equals(parts[0])) {
+            return Optional.empty();
+        }
+
+        Claims claims;
+        try {
+            byte[] signature = BASE64_DECODER.decode(parts[2]);
+            String signingInput = parts[0] + "." + parts[1];
+            if (keys.stream().noneMatch(key -> MessageDigest.isEqual(sign(key, signingInput), signature))) {
+                log.debug("Rejecting API token with an unknown signature");
+                return Optional.empty();
+            }
+            claims = objectMapper.readValue(BASE64_DECODER.decode(parts[1]), Claims.class);
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+
+        if (claims.exp() <= Instant.now().getEpochSecond() || revokedTokenIds.getIfPresent(claims.jti()) != null) {
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
+    private static byte[] sign(SecretKeySpec key, String signingInput) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package librarymanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import librarymanagement.model.Author;
+import librarymanagement.repository.AuthorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class AuthorResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorResolver.class);
+    private final AuthorRepository authorRepository;
+    // Names known to exist in the authors table, so their insert can be skipped
+    private final Cache<String, Boolean> knownAuthorNames;
+
+    public AuthorResolver(AuthorRepository authorRepository,
+                          @Value("${library.authors.name-cache-size}") long nameCacheSize) {
+        this.authorRepository = authorRepository;
+        this.knownAuthorNames = Caffeine.newBuilder()
+                .maximumSize(nameCacheSize)
+                .build();
+    }
+
+    /**
+     * Loads the authors with the given names, creating the missing ones.
+     * Takes one insert for names not seen before and one lookup for all names, however many there are.
+     */
+    @Transactional
+    public Map<String, Author> resolve(Collection<String> authorNames) {
+        Set<String> names = Set.copyOf(authorNames);
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+
+        List<String> unknownNames = names.stream()
+                .filter(name -> knownAuthorNames.getIfPresent(name) == null)
+                .toList();
+        if (!unknownNames.isEmpty()) {
+            log.debug("Inserting {} authors not known to exist", unknownNames.size());
+            authorRepository.insertMissing(unknownNames);
+        }
+
+        Map<String, Author> authors = findAllByName(names);
+        if (authors.size() < names.size()) {
+            // A cached name whose author no longer exists
+            Set<String> missingNames = names.stream()
+                    .filter(name -> !authors.containsKey(name))
+                    .collect(Collectors.toSet());
+            log.debug("Recreating {} authors missing despite the name cache", missingNames.size());
+            knownAuthorNames.invalidateAll(missingNames);
+            authorRepository.insertMissing(missingNames);
+            authors.putAll(findAllByName(missingNames));
+        }
+
+        for (String name : names) {
+            knownAuthorNames.put(name, Boolean.TRUE);
+        }
+        return authors;
+    }
+
+    private Map<String, Author> findAllByName(Collection<String> names) {
+        Map<String, Author> authors = new HashMap<>();
+        for (Author author : authorRepository.findAllByNames(names)) {
+            authors.put(author.getName(), author);
+        }
+        return authors;
+    }
+}
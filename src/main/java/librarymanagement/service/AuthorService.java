@@ -1,5 +1,6 @@
 package librarymanagement.service;
 
+import librarymanagement.config.ReadFromPrimary;
 import librarymanagement.constants.Messages;
 import librarymanagement.exception.ResourceNotFoundException;
 import librarymanagement.model.Author;
@@ -10,6 +11,7 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -24,6 +26,8 @@ public class AuthorService {
     }
 
     @Cacheable(value = "authors", key = "#pageable.pageNumber + '_' + #pageable.pageSize + '_' + #pageable.sort.toString()")
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
     public Page<Author> getAllAuthors(Pageable pageable) {
         log.debug("Fetching all authors, page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
 
@@ -35,6 +39,8 @@ public class AuthorService {
     }
 
     @Cacheable(value = "authors", key = "#name")
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
     public Author getAuthorByName(String name) {
         log.debug("Looking up author by name: {}", name);
         Optional<Author> author = authorRepository.findById(name);
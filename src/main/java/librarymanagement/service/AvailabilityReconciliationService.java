@@ -0,0 +1,52 @@
+package librarymanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import librarymanagement.dto.AvailabilityDrift;
+import librarymanagement.model.CopyStatus;
+import librarymanagement.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class AvailabilityReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityReconciliationService.class);
+    private final BookRepository bookRepository;
+    private final Counter driftCounter;
+
+    public AvailabilityReconciliationService(BookRepository bookRepository, MeterRegistry meterRegistry) {
+        this.bookRepository = bookRepository;
+        this.driftCounter = Counter.builder("availability_drift_corrections")
+                .description("Books whose available copy counter did not match their copies")
+                .register(meterRegistry);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(value = "books", allEntries = true),
+            @CacheEvict(value = "book-pages", allEntries = true)})
+    @Transactional
+    @Scheduled(cron = "${library.availability.reconciliation-cron}")
+    public List<AvailabilityDrift> reconcile() {
+        log.debug("Reconciling available copy counters");
+
+        List<AvailabilityDrift> drifts = bookRepository.findAvailabilityDrift(CopyStatus.AVAILABLE);
+
+        for (AvailabilityDrift drift : drifts) {
+            log.warn("Available copies drift for ISBN: {}, recorded: {}, actual: {}",
+                    drift.isbn(), drift.recordedCopies(), drift.actualCopies());
+            bookRepository.recountAvailableCopies(drift.isbn(), CopyStatus.AVAILABLE);
+        }
+        driftCounter.increment(drifts.size());
+
+        log.info("Reconciled available copy counters, corrected {} books", drifts.size());
+        return drifts;
+    }
+}
@@ -0,0 +1,232 @@
+package librarymanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import librarymanagement.constants.Messages;
+import librarymanagement.dto.BookCreateRequest;
+import librarymanagement.dto.BookImportError;
+import librarymanagement.dto.BookImportReport;
+import librarymanagement.model.Author;
+import librarymanagement.model.Book;
+import librarymanagement.model.OutboxEvent;
+import librarymanagement.model.OutboxEventType;
+import librarymanagement.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class BookImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookImportService.class);
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final BookRepository bookRepository;
+    private final AuthorResolver authorResolver;
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final OutboxService outboxService;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    public BookImportService(BookRepository bookRepository, AuthorResolver authorResolver,
+                             CatalogSearchIndex catalogSearchIndex, OutboxService outboxService, CacheManager cacheManager,
+                             PlatformTransactionManager transactionManager, Validator validator,
+                             ObjectMapper objectMapper) {
+        this.bookRepository = bookRepository;
+        this.authorResolver = authorResolver;
+        this.catalogSearchIndex = catalogSearchIndex;
+        this.outboxService = outboxService;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    private record ImportRow(long line, BookCreateRequest request) {
+    }
+
+    /**
+     * Creates or updates one book per NDJSON line. The body is read line by line and written in
+     * batches of {@value #BATCH_SIZE} books, each in its own transaction.
+     * Invalid lines are reported and skipped. A batch that fails to save is split and retried until
+     * the failing books are isolated, so only those are reported and the rest of the batch is still written.
+     */
+    public BookImportReport importBooks(InputStream ndjson) throws IOException {
+        log.info("Starting catalog import");
+        ImportProgress progress = new ImportProgress();
+        // Keyed by ISBN, so a later line for the same book in a batch replaces the earlier one
+        Map<String, ImportRow> batch = new LinkedHashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                progress.processed++;
+
+                ImportRow row = parse(line, lineNumber, progress);
+                if (row != null) {
+                    batch.put(row.request().isbn(), row);
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    writeBatch(List.copyOf(batch.values()), progress);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(List.copyOf(batch.values()), progress);
+            }
+        } finally {
+            // Evicted once for the whole import instead of once per book, even if the upload broke off
+            for (String cacheName : List.of("books", "book-pages", "authors")) {
+                Cache cache = cacheManager.getCache(cacheName);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        }
+
+        log.info("Finished catalog import: {} lines, {} created, {} updated, {} failed",
+                progress.processed, progress.created, progress.updated, progress.failed);
+        return progress.toReport();
+    }
+
+    private ImportRow parse(String line, long lineNumber, ImportProgress progress) {
+        BookCreateRequest request;
+        try {
+            request = objectMapper.readValue(line, BookCreateRequest.class);
+        } catch (JsonProcessingException e) {
+            progress.fail(lineNumber, null, Messages.BOOK_IMPORT_INVALID_LINE + e.getOriginalMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<BookCreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            progress.fail(lineNumber, request.isbn(), message);
+            return null;
+        }
+        return new ImportRow(lineNumber, request);
+    }
+
+    private void writeBatch(List<ImportRow> rows, ImportProgress progress) {
+        save(rows, progress);
+        log.info("Catalog import progress: {} lines, {} created, {} updated, {} failed",
+                progress.processed, progress.created, progress.updated, progress.failed);
+    }
+
+    // Halves a failed batch until the failing rows are alone, which costs about 2 log2(n) extra transactions per bad row
+    private void save(List<ImportRow> rows, ImportProgress progress) {
+        try {
+            int[] createdAndUpdated = transactionTemplate.execute(status -> upsert(rows));
+            progress.created += createdAndUpdated[0];
+            progress.updated += createdAndUpdated[1];
+        } catch (RuntimeException e) {
+            if (rows.size() > 1) {
+                log.debug("Catalog import batch of {} books failed, retrying in halves", rows.size(), e);
+                int middle = rows.size() / 2;
+                save(rows.subList(0, middle), progress);
+                save(rows.subList(middle, rows.size()), progress);
+                return;
+            }
+            ImportRow row = rows.getFirst();
+            log.warn("Catalog import of book {} on line {} failed", row.request().isbn(), row.line(), e);
+            progress.fail(row.line(), row.request().isbn(),
+                    Messages.BOOK_IMPORT_SAVE_FAILED + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private int[] upsert(Collection<ImportRow> rows) {
+        List<String> isbns = rows.stream().map(row -> row.request().isbn()).toList();
+        Map<String, Book> existingBooks = bookRepository.findAllById(isbns).stream()
+                .collect(Collectors.toMap(Book::getIsbn, Function.identity()));
+        Map<String, Author> authors = authorResolver.resolve(rows.stream()
+                .flatMap(row -> authorNames(row.request()).stream())
+                .collect(Collectors.toSet()));
+
+        List<Book> books = new ArrayList<>(rows.size());
+        List<OutboxEvent> events = new ArrayList<>(rows.size());
+        int created = 0;
+        for (ImportRow row : rows) {
+            BookCreateRequest request = row.request();
+            Book book = existingBooks.get(request.isbn());
+            OutboxEventType eventType = OutboxEventType.BOOK_UPDATED;
+            if (book == null) {
+                book = new Book();
+                book.setIsbn(request.isbn());
+                eventType = OutboxEventType.BOOK_CREATED;
+                created++;
+            }
+            events.add(new OutboxEvent(eventType, request.isbn(), null, null));
+            book.setTitle(request.title());
+            book.setPublicationYear(request.publicationYear());
+            Set<Author> bookAuthors = new LinkedHashSet<>();
+            for (String authorName : authorNames(request)) {
+                bookAuthors.add(authors.get(authorName));
+            }
+            book.setAuthors(bookAuthors);
+            books.add(book);
+        }
+
+        for (Book book : bookRepository.saveAll(books)) {
+            catalogSearchIndex.index(book);
+        }
+        outboxService.recordEvents(events);
+        return new int[]{created, books.size() - created};
+    }
+
+    private static Set<String> authorNames(BookCreateRequest request) {
+        return request.authorNames() != null ? request.authorNames() : Set.of();
+    }
+
+    private static final class ImportProgress {
+        private long processed;
+        private long created;
+        private long updated;
+        private long failed;
+        private final List<BookImportError> errors = new ArrayList<>();
+
+        void fail(long line, String isbn, String message) {
+            failed++;
+            // Only the first errors are reported so a bad upload cannot grow the response without bound
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BookImportError(line, isbn, message));
+            }
+        }
+
+        BookImportReport toReport() {
+            return new BookImportReport(processed, created, updated, failed, List.copyOf(errors));
+        }
+    }
+}
@@ -1,32 +1,44 @@
 package librarymanagement.service;
 
-import jakarta.transaction.Transactional;
+import librarymanagement.config.BookPageCache;
+import librarymanagement.config.ReadFromPrimary;
+import librarymanagement.config.ReplicaRoutingDataSource;
 import librarymanagement.constants.Messages;
+import librarymanagement.dto.CountedPage;
+import librarymanagement.dto.CursorPage;
 import librarymanagement.dto.BookCreateRequest;
 import librarymanagement.dto.BookUpdateRequest;
 import librarymanagement.exception.DuplicateResourceException;
 import librarymanagement.exception.ResourceNotFoundException;
 import librarymanagement.model.Author;
 import librarymanagement.model.Book;
-import librarymanagement.repository.AuthorRepository;
+import librarymanagement.model.OutboxEventType;
 import librarymanagement.repository.BookRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -35,32 +47,89 @@ public class BookService {
 
     private static final Logger log = LoggerFactory.getLogger(BookService.class);
     private final BookRepository bookRepository;
-    private final AuthorRepository authorRepository;
-
-    public BookService(BookRepository bookRepository, AuthorRepository authorRepository) {
+    private final AuthorResolver authorResolver;
+    private final BookPageCache bookPageCache;
+    private final PageCountService pageCountService;
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final OutboxService outboxService;
+    private final Cache booksCache;
+
+    public BookService(BookRepository bookRepository, AuthorResolver authorResolver, BookPageCache bookPageCache,
+                       PageCountService pageCountService, CatalogSearchIndex catalogSearchIndex,
+                       OutboxService outboxService, CacheManager cacheManager) {
         this.bookRepository = bookRepository;
-        this.authorRepository = authorRepository;
+        this.authorResolver = authorResolver;
+        this.bookPageCache = bookPageCache;
+        this.pageCountService = pageCountService;
+        this.catalogSearchIndex = catalogSearchIndex;
+        this.outboxService = outboxService;
+        this.booksCache = cacheManager.getCache("books");
     }
 
-    @Cacheable(value = "book-pages", key = "#pageable.pageNumber + '_' + #pageable.pageSize + '_' + #pageable.sort.toString()")
+    // Synchronized, so BookPageCache sees the load and can drop a page that overlapped an eviction
+    @Cacheable(value = "book-pages", key = "T(librarymanagement.config.BookPageCache).keyFor(#pageable)", sync = true)
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
     public Page<Book> getAllBooks(Pageable pageable) {
+        return loadPage(pageable);
+    }
+
+    /**
+     * Uncached {@link #getAllBooks(Pageable)}, used by the book-pages cache to refresh hot pages.
+     */
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    public Page<Book> loadPage(Pageable pageable) {
         log.debug("Fetching all books, page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<String> isbnPage = bookRepository.findAllIsbns(pageable);
+        List<String> ids = bookRepository.findAllIsbns(pageable);
 
-        if (isbnPage.getContent().isEmpty()) {
+        if (ids.isEmpty()) {
             log.debug("No books found, returning empty page");
             return Page.empty(pageable);
         }
 
-        List<Book> books = bookRepository.findByIsbnsWithAuthors(isbnPage.getContent());
+        List<Book> books = bookRepository.findByIsbnsWithAuthors(ids);
+        PageCountService.TotalCount total = pageCountService.estimatedCount("books", pageable, ids.size(),
+                bookRepository::count);
+
+        log.debug("Retrieved {} books out of {} total", books.size(), total.value());
+
+        return new CountedPage<>(books, pageable, total.value(), total.exact());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Book> getAllBooks(String cursor, int size) {
+        int pageSize = KeysetCursor.clampSize(size);
+        log.debug("Fetching books after cursor: '{}', size: {}", cursor, pageSize);
+
+        // One extra row tells whether another page exists without a COUNT query
+        List<String> isbns;
+        if (KeysetCursor.isFirstPage(cursor)) {
+            isbns = bookRepository.findFirstIsbns(PageRequest.ofSize(pageSize + 1));
+        } else {
+            String[] keys = KeysetCursor.decode(cursor, 2);
+            isbns = bookRepository.findIsbnsAfter(keys[0], keys[1], PageRequest.ofSize(pageSize + 1));
+        }
+        boolean hasNext = isbns.size() > pageSize;
+
+        if (isbns.isEmpty()) {
+            log.debug("No books found after cursor: '{}'", cursor);
+            return CursorPage.empty(pageSize);
+        }
+
+        List<Book> books = bookRepository.findByIsbnsWithAuthors(hasNext ? isbns.subList(0, pageSize) : isbns);
+        Book last = books.getLast();
+        String nextCursor = hasNext ? KeysetCursor.encode(last.getTitle(), last.getIsbn()) : null;
 
-        log.debug("Retrieved {} books out of {} total", books.size(), isbnPage.getTotalElements());
+        log.debug("Retrieved {} books after cursor: '{}'", books.size(), cursor);
 
-        return new PageImpl<>(books, pageable, isbnPage.getTotalElements());
+        return new CursorPage<>(books, pageSize, hasNext, nextCursor);
     }
 
     @Cacheable(value = "books", key = "#isbn")
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
     public Book getBookByIsbn(String isbn) {
         log.debug("Looking up book by ISBN: {}", isbn);
         Optional<Book> book = bookRepository.findByIsbnWithAuthors(isbn);
@@ -72,6 +141,28 @@ public class BookService {
         return book.get();
     }
 
+    @Transactional(readOnly = true)
+    public void requireBooksExist(Collection<String> isbns) {
+        Set<String> existing = new HashSet<>(bookRepository.findExistingIsbns(isbns));
+        for (String isbn : isbns) {
+            if (!existing.contains(isbn)) {
+                log.warn("Book not found with ISBN: {}", isbn);
+                throw new ResourceNotFoundException(Messages.BOOK_NOT_FOUND + isbn);
+            }
+        }
+    }
+
+    /**
+     * The book as an entity of the caller's transaction, for changes. Unlike {@link #getBookByIsbn}, it is never the
+     * instance held in the books cache, so a rolled back change can't leak to other readers.
+     */
+    @Transactional
+    public Book getBookForUpdate(String isbn) {
+        return bookRepository.findByIsbnWithAuthors(isbn)
+                .orElseThrow(() -> new ResourceNotFoundException(Messages.BOOK_NOT_FOUND + isbn));
+    }
+
+    @Transactional(readOnly = true)
     public Page<Book> searchBooks(String searchTerm, Pageable pageable) {
         log.debug("Searching books with term: '{}', page: {}, size: {}", searchTerm, pageable.getPageNumber(), pageable.getPageSize());
 
@@ -81,25 +172,26 @@ public class BookService {
 
         String cleanTerm = searchTerm.trim();
 
-        Page<String> titleIsbns = bookRepository.findIsbnsByTitleContaining(cleanTerm, pageable);
-
-        if (titleIsbns.getTotalElements() > 0) {
-            log.debug("Found {} books matching title search for term: '{}'", titleIsbns.getTotalElements(), cleanTerm);
-
-            List<Book> books = bookRepository.findByIsbnsWithAuthors(titleIsbns.getContent());
-            return new PageImpl<>(books, pageable, titleIsbns.getTotalElements());
+        Optional<CatalogSearchIndex.SearchHits> indexHits = catalogSearchIndex.search(cleanTerm, pageable);
+        if (indexHits.isPresent()) {
+            CatalogSearchIndex.SearchHits hits = indexHits.get();
+            log.debug("Found {} books in search index for term: '{}'", hits.total(), cleanTerm);
+            if (hits.isbns().isEmpty()) {
+                return Page.empty(pageable);
+            }
+            return new CountedPage<>(getBooksInOrder(hits.isbns()), pageable, hits.total(), true);
         }
 
-        Page<String> authorIsbns = bookRepository.findIsbnsByAuthorContaining(cleanTerm, pageable);
-        log.debug("No books found matching title search for term: '{}'. Returning {} books by authors",
-                cleanTerm, authorIsbns.getTotalElements());
+        List<String> isbns = bookRepository.searchIsbns(cleanTerm, pageable);
+        PageCountService.TotalCount total = pageCountService.exactCount("books:search:" + cleanTerm, pageable,
+                isbns.size(), () -> bookRepository.countSearchMatches(cleanTerm));
+        log.debug("Found {} books matching search term: '{}'", total.value(), cleanTerm);
 
-        if (authorIsbns.getContent().isEmpty()) {
+        if (isbns.isEmpty()) {
             return Page.empty(pageable);
         }
 
-        List<Book> books = bookRepository.findByIsbnsWithAuthors(authorIsbns.getContent());
-        return new PageImpl<>(books, pageable, authorIsbns.getTotalElements());
+        return new CountedPage<>(getBooksInOrder(isbns), pageable, total.value(), total.exact());
     }
 
     @CachePut(value = "books", key = "#result.isbn")
@@ -107,6 +199,7 @@ public class BookService {
             @CacheEvict(value = "book-pages", allEntries = true),
             @CacheEvict(value = "authors", allEntries = true)})
     @Retryable(retryFor = DataIntegrityViolationException.class, backoff = @Backoff(delay = 50), maxAttempts = 2)
+    @Transactional
     public Book addBook(BookCreateRequest bookCreateRequest) {
         String formattedAuthors = String.join(", ", bookCreateRequest.authorNames());
         log.debug("Adding book: '{}' by [{}] (ISBN: {})", bookCreateRequest.title(), formattedAuthors, bookCreateRequest.isbn());
@@ -124,16 +217,17 @@ public class BookService {
         Set<Author> resolvedAuthors = resolveAuthors(bookCreateRequest.authorNames());
         book.setAuthors(resolvedAuthors);
 
-        Book savedBook = bookRepository.save(book);
+        // Flushed here so a concurrent insert of the same ISBN surfaces as a retryable DataIntegrityViolationException
+        Book savedBook = bookRepository.saveAndFlush(book);
+        catalogSearchIndex.index(savedBook);
+        outboxService.recordBookEvent(OutboxEventType.BOOK_CREATED, savedBook.getIsbn());
         log.info("Successfully added book: '{}' (ISBN: {})", savedBook.getTitle(), savedBook.getIsbn());
 
         return savedBook;
     }
 
     @CachePut(value = "books", key = "#isbn")
-    @Caching(evict = {
-            @CacheEvict(value = "book-pages", allEntries = true),
-            @CacheEvict(value = "authors", allEntries = true)})
+    @CacheEvict(value = "authors", allEntries = true)
     @Transactional
     public Book updateBook(String isbn, BookUpdateRequest bookUpdateRequest) {
         log.debug("Updating book with ISBN: {}", isbn);
@@ -147,7 +241,7 @@ public class BookService {
         Book existingBook = optionalBook.get();
         String oldTitle = existingBook.getTitle();
         String oldAuthors = existingBook.getFormattedAuthors();
-        int oldYear = existingBook.getPublicationYear();
+        Integer oldYear = existingBook.getPublicationYear();
 
         Set<Author> resolvedAuthors = resolveAuthors(bookUpdateRequest.authorNames());
         existingBook.setAuthors(resolvedAuthors);
@@ -155,6 +249,16 @@ public class BookService {
         existingBook.setPublicationYear(bookUpdateRequest.publicationYear());
 
         Book savedBook = bookRepository.save(existingBook);
+        catalogSearchIndex.index(savedBook);
+        outboxService.recordBookEvent(OutboxEventType.BOOK_UPDATED, isbn);
+
+        // Clients can sort pages by any column, so a book whose title or year changed can move between pages.
+        // Authors are not sortable and the copy counter is not changed here.
+        if (oldTitle.equals(savedBook.getTitle()) && Objects.equals(oldYear, savedBook.getPublicationYear())) {
+            bookPageCache.evictPagesContaining(isbn);
+        } else {
+            bookPageCache.clear();
+        }
 
         log.info("Updated book (ISBN: {}): '{}' {} by [{}] to '{}' {} by [{}]",
                 isbn, oldTitle, oldYear, oldAuthors,
@@ -163,31 +267,27 @@ public class BookService {
         return savedBook;
     }
 
-    @CachePut(value = "books", key = "#isbn")
-    @CacheEvict(value = "book-pages", allEntries = true)
+    @CacheEvict(value = "books", key = "#isbn")
     @Transactional
-    @Retryable(retryFor = OptimisticLockingFailureException.class, backoff = @Backoff(delay = 50))
-    public Book updateAvailableCopies(String isbn, int delta) {
+    public int updateAvailableCopies(String isbn, int delta) {
         log.debug("Updating available copies for ISBN: {} by delta: {}", isbn, delta);
 
-        Optional<Book> optionalBook = bookRepository.findById(isbn);
-        if (optionalBook.isEmpty()) {
-            log.warn("Attempted to update copies for non-existent book with ISBN: {}", isbn);
-            throw new ResourceNotFoundException(Messages.BOOK_NOT_FOUND + isbn);
-        }
-
-        Book book = optionalBook.get();
-        int newCount = book.getAvailableCopies() + delta;
-        if (newCount < 0) {
+        // Single guarded UPDATE, so concurrent desk operations never contend on the Book version
+        int updatedRows = bookRepository.adjustAvailableCopies(isbn, delta);
+        if (updatedRows == 0) {
+            if (!bookRepository.existsByIsbn(isbn)) {
+                log.warn("Attempted to update copies for non-existent book with ISBN: {}", isbn);
+                throw new ResourceNotFoundException(Messages.BOOK_NOT_FOUND + isbn);
+            }
             log.warn("Available copies would become negative for ISBN: {}", isbn);
-            throw new IllegalStateException("Available copies cannot be negative");
+            throw new IllegalStateException(Messages.BOOK_COPY_COUNT_VALIDATION_MESSAGE);
         }
 
-        book.setAvailableCopies(newCount);
-        Book savedBook = bookRepository.save(book);
+        int newCount = bookRepository.findAvailableCopiesByIsbn(isbn).orElseThrow();
+        bookPageCache.evictPagesContaining(isbn);
 
         log.debug("Updated available copies for ISBN: {} to {}", isbn, newCount);
-        return savedBook;
+        return newCount;
     }
 
     @Caching(evict = {
@@ -207,22 +307,47 @@ public class BookService {
         String title = book.get().getTitle();
 
         bookRepository.deleteById(isbn);
+        catalogSearchIndex.remove(isbn);
+        outboxService.recordBookEvent(OutboxEventType.BOOK_DELETED, isbn);
         log.info("Successfully deleted book: '{}' (ISBN: {})", title, isbn);
     }
 
+    // Search results arrive in rank order; reuse cached books and load the rest in one query.
+    // Books read from a replica are not cached, they may predate a write whose eviction already ran.
+    private List<Book> getBooksInOrder(List<String> isbns) {
+        Map<String, Book> booksByIsbn = new HashMap<>();
+        List<String> missingIsbns = new ArrayList<>();
+        for (String isbn : isbns) {
+            Book cached = booksCache.get(isbn, Book.class);
+            if (cached != null) {
+                booksByIsbn.put(isbn, cached);
+            } else {
+                missingIsbns.add(isbn);
+            }
+        }
+
+        if (!missingIsbns.isEmpty()) {
+            boolean cacheable = !ReplicaRoutingDataSource.isReplicaTransaction();
+            for (Book book : bookRepository.findByIsbnsWithAuthors(missingIsbns)) {
+                if (cacheable) {
+                    booksCache.put(book.getIsbn(), book);
+                }
+                booksByIsbn.put(book.getIsbn(), book);
+            }
+        }
+
+        return isbns.stream()
+                .map(booksByIsbn::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     private Set<Author> resolveAuthors(Set<String> authorNames) {
         Set<Author> authors = new LinkedHashSet<>();
 
+        Map<String, Author> authorsByName = authorResolver.resolve(authorNames);
         for (String authorName : authorNames) {
-            Optional<Author> existingAuthor = authorRepository.findById(authorName);
-            if (existingAuthor.isPresent()) {
-                log.debug("Using existing author: {}", authorName);
-                authors.add(existingAuthor.get());
-            } else {
-                log.debug("Creating new author: {}", authorName);
-                Author savedAuthor = authorRepository.save(new Author(authorName));
-                authors.add(savedAuthor);
-            }
+            authors.add(authorsByName.get(authorName));
         }
 
         return authors;
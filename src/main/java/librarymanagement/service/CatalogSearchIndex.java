@@ -0,0 +1,393 @@
+package librarymanagement.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import librarymanagement.model.Author;
+import librarymanagement.model.Book;
+import librarymanagement.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over book titles and author names, answering catalog searches without the database.
+ * Books are interned as int ordinals and every token maps to a sorted array of ordinals.
+ */
+@Service
+public class CatalogSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSearchIndex.class);
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int WARMUP_BATCH_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> postingsByToken = new TreeMap<>();
+    private final Map<String, Integer> ordinalByIsbn = new HashMap<>();
+    private final List<String> isbnByOrdinal = new ArrayList<>();
+    // Lowercased titles and indexed tokens, null once the book is removed
+    private final List<String> titleByOrdinal = new ArrayList<>();
+    private final List<String[]> tokensByOrdinal = new ArrayList<>();
+    private final Set<String> changedDuringWarmup = new HashSet<>();
+    // Kept up to date by every change, so the gauges never walk the index
+    private volatile long indexedBooks;
+    private volatile long footprintBytes;
+    // Off when disabled or once warmup failed, then writes are not applied either
+    private volatile boolean maintained;
+    private volatile boolean ready;
+
+    public CatalogSearchIndex(BookRepository bookRepository, MeterRegistry meterRegistry,
+                              @Value("${library.search.in-memory-index}") boolean enabled) {
+        this.bookRepository = bookRepository;
+        this.enabled = enabled;
+        this.maintained = enabled;
+        Gauge.builder("catalog_search_index_bytes", this, index -> index.footprintBytes)
+                .description("Estimated heap used by the in-memory catalog search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("catalog_search_index_books", this, index -> index.indexedBooks)
+                .description("Books in the in-memory catalog search index")
+                .register(meterRegistry);
+    }
+
+    public record SearchHits(List<String> isbns, long total) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmup() {
+        if (enabled) {
+            Thread.ofPlatform().name("catalog-search-index-warmup").daemon().start(this::warmUp);
+        }
+    }
+
+    /**
+     * Matches every query token as a prefix of a title or author token.
+     *
+     * @return the requested page of ISBNs, or empty while the index is still warming
+     */
+    public Optional<SearchHits> search(String term, Pageable pageable) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        String[] queryTokens = tokenize(term);
+        if (queryTokens.length == 0) {
+            return Optional.of(new SearchHits(List.of(), 0));
+        }
+        String normalized = String.join(" ", queryTokens);
+
+        lock.readLock().lock();
+        try {
+            BitSet matches = null;
+            for (String token : queryTokens) {
+                BitSet tokenMatches = new BitSet(isbnByOrdinal.size());
+                for (Postings postings : postingsByToken.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                    postings.addTo(tokenMatches);
+                }
+                if (matches == null) {
+                    matches = tokenMatches;
+                } else {
+                    matches.and(tokenMatches);
+                }
+            }
+
+            // Same order as the SQL search: title prefix, then title match, then title and ISBN
+            Comparator<Integer> rank = Comparator
+                    .comparingInt((Integer ordinal) -> titleRank(titleByOrdinal.get(ordinal), normalized))
+                    .thenComparing(titleByOrdinal::get)
+                    .thenComparing(isbnByOrdinal::get);
+            int total = matches.cardinality();
+            if (pageable.getOffset() >= total) {
+                return Optional.of(new SearchHits(List.of(), total));
+            }
+
+            // Only the first offset + page size matches are ranked, kept in a heap with the worst on top
+            int wanted = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), total);
+            PriorityQueue<Integer> top = new PriorityQueue<>(wanted, rank.reversed());
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                if (top.size() < wanted) {
+                    top.add(ordinal);
+                } else if (rank.compare(ordinal, top.peek()) < 0) {
+                    top.poll();
+                    top.add(ordinal);
+                }
+            }
+            List<Integer> ranked = new ArrayList<>(top);
+            ranked.sort(rank);
+            List<String> page = ranked.subList((int) pageable.getOffset(), ranked.size()).stream()
+                    .map(isbnByOrdinal::get)
+                    .toList();
+            return Optional.of(new SearchHits(page, total));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Book book) {
+        if (!maintained) {
+            return;
+        }
+        String isbn = book.getIsbn();
+        String title = book.getTitle().toLowerCase(Locale.ROOT);
+        String[] tokens = tokensOf(book);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (maintained) {
+                    put(isbn, title, tokens);
+                    markChanged(isbn);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(String isbn) {
+        if (!maintained) {
+            return;
+        }
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (maintained) {
+                    delete(isbn);
+                    markChanged(isbn);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    void warmUp() {
+        long start = System.nanoTime();
+        try {
+            List<String> isbns = bookRepository.findFirstIsbns(PageRequest.ofSize(WARMUP_BATCH_SIZE));
+            while (!isbns.isEmpty()) {
+                List<Book> books = bookRepository.findByIsbnsWithAuthors(isbns);
+                lock.writeLock().lock();
+                try {
+                    for (Book book : books) {
+                        // A write that landed while this batch was loading is newer than the batch
+                        if (!changedDuringWarmup.contains(book.getIsbn())) {
+                            put(book.getIsbn(), book.getTitle().toLowerCase(Locale.ROOT), tokensOf(book));
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                if (isbns.size() < WARMUP_BATCH_SIZE || books.isEmpty()) {
+                    break;
+                }
+                Book last = books.getLast();
+                isbns = bookRepository.findIsbnsAfter(last.getTitle(), last.getIsbn(), PageRequest.ofSize(WARMUP_BATCH_SIZE));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Catalog search index warmup failed, searches stay on the database", e);
+            discard();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changedDuringWarmup.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Catalog search index ready with {} books in {} ms",
+                indexedBooks, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void discard() {
+        lock.writeLock().lock();
+        try {
+            maintained = false;
+            postingsByToken.clear();
+            ordinalByIsbn.clear();
+            isbnByOrdinal.clear();
+            titleByOrdinal.clear();
+            tokensByOrdinal.clear();
+            changedDuringWarmup.clear();
+            indexedBooks = 0;
+            footprintBytes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(String isbn, String title, String[] tokens) {
+        Integer ordinal = ordinalByIsbn.get(isbn);
+        if (ordinal == null) {
+            ordinal = isbnByOrdinal.size();
+            ordinalByIsbn.put(isbn, ordinal);
+            isbnByOrdinal.add(isbn);
+            titleByOrdinal.add(null);
+            tokensByOrdinal.add(null);
+            footprintBytes += 96 + 2L * isbn.length();
+        } else {
+            unlinkTokens(ordinal);
+        }
+
+        if (titleByOrdinal.get(ordinal) == null) {
+            indexedBooks++;
+        }
+        footprintBytes += entryFootprint(title, tokens) - entryFootprint(titleByOrdinal.get(ordinal), tokensByOrdinal.get(ordinal));
+        titleByOrdinal.set(ordinal, title);
+        tokensByOrdinal.set(ordinal, tokens);
+        for (String token : tokens) {
+            Postings postings = postingsByToken.get(token);
+            if (postings == null) {
+                postings = new Postings();
+                postingsByToken.put(token, postings);
+                footprintBytes += 64 + 2L * token.length() + postings.footprint();
+            }
+            long before = postings.footprint();
+            postings.add(ordinal);
+            footprintBytes += postings.footprint() - before;
+        }
+    }
+
+    private void delete(String isbn) {
+        Integer ordinal = ordinalByIsbn.get(isbn);
+        if (ordinal != null) {
+            // The ordinal stays reserved for the ISBN so a re-added book reuses it
+            unlinkTokens(ordinal);
+            if (titleByOrdinal.get(ordinal) != null) {
+                indexedBooks--;
+            }
+            footprintBytes -= entryFootprint(titleByOrdinal.get(ordinal), tokensByOrdinal.get(ordinal));
+            titleByOrdinal.set(ordinal, null);
+            tokensByOrdinal.set(ordinal, null);
+        }
+    }
+
+    private void unlinkTokens(int ordinal) {
+        String[] tokens = tokensByOrdinal.get(ordinal);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Postings postings = postingsByToken.get(token);
+            if (postings != null && postings.remove(ordinal)) {
+                postingsByToken.remove(token);
+                footprintBytes -= 64 + 2L * token.length() + postings.footprint();
+            }
+        }
+    }
+
+    private void markChanged(String isbn) {
+        if (!ready) {
+            changedDuringWarmup.add(isbn);
+        }
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private static int titleRank(String title, String normalizedTerm) {
+        if (title.startsWith(normalizedTerm)) {
+            return 0;
+        }
+        return title.contains(normalizedTerm) ? 1 : 2;
+    }
+
+    private static String[] tokensOf(Book book) {
+        StringBuilder text = new StringBuilder(book.getTitle());
+        for (Author author : book.getAuthors()) {
+            text.append(' ').append(author.getName());
+        }
+        return tokenize(text.toString());
+    }
+
+    private static String[] tokenize(String text) {
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .map(String::intern)
+                .toArray(String[]::new);
+    }
+
+    // Rough shallow sizes: 16 byte headers, 4 bytes per posting and per reference, 2 bytes per char
+    private static long entryFootprint(String title, String[] tokens) {
+        long bytes = title != null ? 40 + 2L * title.length() : 0;
+        return bytes + (tokens != null ? 16 + 4L * tokens.length : 0);
+    }
+
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            System.arraycopy(ordinals, index, ordinals, index + 1, size - index);
+            ordinals[index] = ordinal;
+            size++;
+        }
+
+        // Returns true once the list is empty
+        boolean remove(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index >= 0) {
+                System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+                size--;
+            }
+            return size == 0;
+        }
+
+        void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(ordinals[i]);
+            }
+        }
+
+        long footprint() {
+            return 32 + 4L * ordinals.length;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package librarymanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import librarymanagement.model.OutboxEvent;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * Counts committed book and copy changes by type, as they come out of the outbox.
+ */
+@Service
+public class ChangeEventMetrics implements OutboxSubscriber {
+
+    private final MeterRegistry meterRegistry;
+
+    public ChangeEventMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onEvent(OutboxEvent event) {
+        Counter.builder("catalog_change_events")
+                .description("Committed book and copy changes delivered through the outbox")
+                .tag("type", event.getType().name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .increment();
+    }
+}
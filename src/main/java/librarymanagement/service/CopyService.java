@@ -1,26 +1,43 @@
 package librarymanagement.service;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import librarymanagement.constants.Messages;
+import librarymanagement.dto.CopyBulkCreateResponse;
+import librarymanagement.dto.CopyCreateRequest;
+import librarymanagement.dto.CopyListItem;
+import librarymanagement.dto.CountedPage;
+import librarymanagement.dto.CursorPage;
+import librarymanagement.dto.DeskBatchItem;
+import librarymanagement.dto.DeskBatchResponse;
+import librarymanagement.dto.DeskBatchResult;
 import librarymanagement.exception.ResourceNotFoundException;
 import librarymanagement.model.Book;
 import librarymanagement.model.Copy;
 import librarymanagement.model.CopyStatus;
 import librarymanagement.model.Customer;
+import librarymanagement.model.OutboxEvent;
+import librarymanagement.model.OutboxEventType;
 import librarymanagement.repository.CopyRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class CopyService {
@@ -29,108 +46,152 @@ public class CopyService {
     private final CopyRepository copyRepository;
     private final BookService bookService;
     private final CustomerService customerService;
+    private final PageCountService pageCountService;
+    private final OutboxService outboxService;
 
-    public CopyService(CopyRepository copyRepository, BookService bookService, CustomerService customerService) {
+    public CopyService(CopyRepository copyRepository, BookService bookService, CustomerService customerService,
+                       PageCountService pageCountService, OutboxService outboxService) {
         this.copyRepository = copyRepository;
         this.bookService = bookService;
         this.customerService = customerService;
+        this.pageCountService = pageCountService;
+        this.outboxService = outboxService;
     }
 
-    public Page<Copy> getAllCopies(Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<CopyListItem> getAllCopies(Pageable pageable) {
         log.debug("Fetching all copies, page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Long> idPage = copyRepository.findAllIds(pageable);
+        List<Long> ids = copyRepository.findAllIds(pageable);
 
-        if (idPage.getContent().isEmpty()) {
+        if (ids.isEmpty()) {
             log.debug("No copies found, returning empty page");
             return Page.empty(pageable);
         }
 
-        List<Copy> copies = copyRepository.findByIdsWithAllRelations(idPage.getContent());
+        List<CopyListItem> copies = copyRepository.findListItemsByIds(ids);
+        PageCountService.TotalCount total = pageCountService.estimatedCount("copies", pageable, ids.size(),
+                copyRepository::count);
 
-        log.debug("Retrieved {} copies out of {} total", copies.size(), idPage.getTotalElements());
+        log.debug("Retrieved {} copies out of {} total", copies.size(), total.value());
 
-        return new PageImpl<>(copies, pageable, idPage.getTotalElements());
+        return new CountedPage<>(copies, pageable, total.value(), total.exact());
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<CopyListItem> getAllCopies(String cursor, int size) {
+        int pageSize = KeysetCursor.clampSize(size);
+        long afterId = KeysetCursor.isFirstPage(cursor) ? 0 : KeysetCursor.decodeId(KeysetCursor.decode(cursor, 1)[0]);
+        log.debug("Fetching copies after ID: {}, size: {}", afterId, pageSize);
+
+        // One extra row tells whether another page exists without a COUNT query
+        List<Long> ids = copyRepository.findIdsAfter(afterId, PageRequest.ofSize(pageSize + 1));
+        boolean hasNext = ids.size() > pageSize;
+
+        if (ids.isEmpty()) {
+            log.debug("No copies found after ID: {}", afterId);
+            return CursorPage.empty(pageSize);
+        }
+
+        List<CopyListItem> copies = copyRepository.findListItemsByIds(hasNext ? ids.subList(0, pageSize) : ids);
+        String nextCursor = hasNext ? KeysetCursor.encode(copies.getLast().id()) : null;
+
+        log.debug("Retrieved {} copies after ID: {}", copies.size(), afterId);
+
+        return new CursorPage<>(copies, pageSize, hasNext, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
     public Copy getCopyById(Long id) {
         return getCopyOrThrow(id);
     }
 
-    public Page<Copy> getCopiesByBookIsbn(String isbn, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<CopyListItem> getCopiesByBookIsbn(String isbn, Pageable pageable) {
         log.debug("Fetching copies for book ISBN: {}, page: {}, size: {}", isbn, pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Long> idPage = copyRepository.findIdsByBookIsbn(isbn, pageable);
+        List<Long> ids = copyRepository.findIdsByBookIsbn(isbn, pageable);
 
-        if (idPage.getContent().isEmpty()) {
+        if (ids.isEmpty()) {
             log.debug("No copies found for ISBN: {}", isbn);
             return Page.empty(pageable);
         }
 
-        List<Copy> copies = copyRepository.findByIdsWithAllRelations(idPage.getContent());
+        List<CopyListItem> copies = copyRepository.findListItemsByIds(ids);
+        PageCountService.TotalCount total = pageCountService.exactCount("copies:isbn:" + isbn, pageable, ids.size(),
+                () -> copyRepository.countByBookIsbn(isbn));
 
-        log.debug("Retrieved {} copies for ISBN: {} out of {} total", copies.size(), isbn, idPage.getTotalElements());
+        log.debug("Retrieved {} copies for ISBN: {} out of {} total", copies.size(), isbn, total.value());
 
-        return new PageImpl<>(copies, pageable, idPage.getTotalElements());
+        return new CountedPage<>(copies, pageable, total.value(), total.exact());
     }
 
-    public Page<Copy> getCopiesByCustomerId(Long customerId, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<CopyListItem> getCopiesByCustomerId(Long customerId, Pageable pageable) {
         log.debug("Fetching copies for customer ID: {}, page: {}, size: {}", customerId, pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Long> idPage = copyRepository.findIdsByCustomerId(customerId, pageable);
+        List<Long> ids = copyRepository.findIdsByCustomerId(customerId, pageable);
 
-        if (idPage.getContent().isEmpty()) {
+        if (ids.isEmpty()) {
             log.debug("No copies found for customer ID: {}", customerId);
             return Page.empty(pageable);
         }
 
-        List<Copy> copies = copyRepository.findByIdsWithAllRelations(idPage.getContent());
+        List<CopyListItem> copies = copyRepository.findListItemsByIds(ids);
+        PageCountService.TotalCount total = pageCountService.exactCount("copies:customer:" + customerId, pageable, ids.size(),
+                () -> copyRepository.countByCustomerId(customerId));
 
-        log.debug("Retrieved {} copies for customer ID: {} out of {} total", copies.size(), customerId, idPage.getTotalElements());
+        log.debug("Retrieved {} copies for customer ID: {} out of {} total", copies.size(), customerId, total.value());
 
-        return new PageImpl<>(copies, pageable, idPage.getTotalElements());
+        return new CountedPage<>(copies, pageable, total.value(), total.exact());
     }
 
-    public Page<Copy> getCopiesByBookTitle(String title, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<CopyListItem> getCopiesByBookTitle(String title, Pageable pageable) {
         log.debug("Fetching copies for book title: {}, page: {}, size: {}",
                 title, pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Long> idPage = copyRepository.findIdsByBookTitle(title, pageable);
+        List<Long> ids = copyRepository.findIdsByBookTitle(title, pageable);
 
-        if (idPage.getContent().isEmpty()) {
+        if (ids.isEmpty()) {
             log.debug("No copies found for book title: {}", title);
             return Page.empty(pageable);
         }
 
-        List<Copy> copies = copyRepository.findByIdsWithAllRelations(idPage.getContent());
+        List<CopyListItem> copies = copyRepository.findListItemsByIds(ids);
+        PageCountService.TotalCount total = pageCountService.exactCount("copies:title:" + title, pageable, ids.size(),
+                () -> copyRepository.countByBookTitle(title));
         log.debug("Retrieved {} copies for book title: {} out of {} total",
-                copies.size(), title, idPage.getTotalElements());
+                copies.size(), title, total.value());
 
-        return new PageImpl<>(copies, pageable, idPage.getTotalElements());
+        return new CountedPage<>(copies, pageable, total.value(), total.exact());
     }
 
-    public Page<Copy> getCopiesByCustomerLastName(String lastName, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<CopyListItem> getCopiesByCustomerLastName(String lastName, Pageable pageable) {
         log.debug("Fetching copies for customer last name: {}, page: {}, size: {}",
                 lastName, pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Long> idPage = copyRepository.findIdsByCustomerLastName(lastName, pageable);
+        List<Long> ids = copyRepository.findIdsByCustomerLastName(lastName, pageable);
 
-        if (idPage.getContent().isEmpty()) {
+        if (ids.isEmpty()) {
             log.debug("No copies found for customer last name: {}", lastName);
             return Page.empty(pageable);
         }
 
-        List<Copy> copies = copyRepository.findByIdsWithAllRelations(idPage.getContent());
+        List<CopyListItem> copies = copyRepository.findListItemsByIds(ids);
+        PageCountService.TotalCount total = pageCountService.exactCount("copies:last-name:" + lastName, pageable, ids.size(),
+                () -> copyRepository.countByCustomerLastName(lastName));
         log.debug("Retrieved {} copies for customer last name: {} out of {} total",
-                copies.size(), lastName, idPage.getTotalElements());
+                copies.size(), lastName, total.value());
 
-        return new PageImpl<>(copies, pageable, idPage.getTotalElements());
+        return new CountedPage<>(copies, pageable, total.value(), total.exact());
     }
 
     @Transactional
     public List<Copy> addCopies(String isbn, int quantity) {
         log.debug("Adding {} copies for book with ISBN: {}", quantity, isbn);
-        Book book = bookService.getBookByIsbn(isbn);
+        Book book = bookService.getBookForUpdate(isbn);
 
         List<Copy> copies = new ArrayList<>(quantity);
         for (int i = 0; i < quantity; i++) {
@@ -142,11 +203,34 @@ public class CopyService {
 
         List<Copy> savedCopies = copyRepository.saveAll(copies);
 
-        bookService.updateAvailableCopies(isbn, quantity);
+        adjustAvailableCopies(book, quantity);
         log.info("Added {} copies for book with ISBN: {}", savedCopies.size(), isbn);
         return savedCopies;
     }
 
+    @Transactional
+    public CopyBulkCreateResponse addCopiesInBulk(List<CopyCreateRequest> requests) {
+        // Requests for the same ISBN are merged, so each book gets a single counter update
+        Map<String, Integer> quantityByIsbn = new LinkedHashMap<>();
+        for (CopyCreateRequest request : requests) {
+            quantityByIsbn.merge(request.bookIsbn(), request.quantity(), Integer::sum);
+        }
+        log.debug("Adding copies in bulk for {} books", quantityByIsbn.size());
+        long start = System.nanoTime();
+
+        bookService.requireBooksExist(quantityByIsbn.keySet());
+        int inserted = copyRepository.insertAvailableCopies(quantityByIsbn);
+        for (Map.Entry<String, Integer> entry : quantityByIsbn.entrySet()) {
+            bookService.updateAvailableCopies(entry.getKey(), entry.getValue());
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Added {} copies for {} books in {} ms ({} rows/s)",
+                inserted, quantityByIsbn.size(), elapsedMillis, inserted * 1000L / elapsedMillis);
+        return new CopyBulkCreateResponse(inserted, quantityByIsbn);
+    }
+
+    @Timed(value = "copy_transitions", extraTags = {"transition", "return"}, histogram = true)
     @Transactional
     @Retryable(retryFor = OptimisticLockingFailureException.class, maxAttempts = 2)
     public Copy returnCopy(Long copyId, Long customerId) {
@@ -168,11 +252,13 @@ public class CopyService {
 
         Copy savedCopy = copyRepository.save(existingCopy);
 
-        bookService.updateAvailableCopies(existingCopy.getBook().getIsbn(), 1);
+        adjustAvailableCopies(existingCopy.getBook(), 1);
+        outboxService.recordCopyEvent(OutboxEventType.COPY_RETURNED, savedCopy, customerId);
         log.info("Copy with ID: {} returned successfully", savedCopy.getId());
         return savedCopy;
     }
 
+    @Timed(value = "copy_transitions", extraTags = {"transition", "mark_lost"}, histogram = true)
     @Transactional
     @Retryable(retryFor = OptimisticLockingFailureException.class, maxAttempts = 2)
     public Copy markLost(Long copyId) {
@@ -184,39 +270,33 @@ public class CopyService {
         Copy savedCopy = copyRepository.save(existingCopy);
 
         if (oldStatus == CopyStatus.AVAILABLE) {
-            Book book = existingCopy.getBook();
-            bookService.updateAvailableCopies(book.getIsbn(), -1);
+            adjustAvailableCopies(existingCopy.getBook(), -1);
         }
+        outboxService.recordCopyEvent(OutboxEventType.COPY_MARKED_LOST, savedCopy, customerIdOf(savedCopy));
         log.info("Copy with ID: {} marked as lost", savedCopy.getId());
         return savedCopy;
     }
 
+    @Timed(value = "copy_transitions", extraTags = {"transition", "reserve"}, histogram = true)
     @Transactional
-    @Retryable(retryFor = OptimisticLockingFailureException.class, backoff = @Backoff(delay = 50))
     public Copy reserveAnyAvailableCopy(String isbn, Long customerId) {
         log.debug("Reserving any available copy for book with ISBN: {} for customer ID: {}", isbn, customerId);
-        Optional<Copy> availableCopy = copyRepository.findFirstByBookIsbnAndStatus(isbn, CopyStatus.AVAILABLE);
-        if (availableCopy.isEmpty()) {
+        Customer customer = customerService.getCustomerById(customerId);
+
+        Optional<Copy> claimedCopy = copyRepository.claimAvailableCopy(isbn, customer.getId());
+        if (claimedCopy.isEmpty()) {
             log.info("No available copies found for book with ISBN: {}", isbn);
             throw new ResourceNotFoundException(Messages.COPY_NO_AVAILABLE + isbn);
         }
 
-        Copy copyToReserve = availableCopy.get();
-        long copyId = copyToReserve.getId();
-        log.debug("Reserving copy with ID: {} for customer ID: {}", copyToReserve.getId(), customerId);
-
-        Customer customer = customerService.getCustomerById(customerId);
-        Book book = copyToReserve.getBook();
-
-        copyToReserve.setCustomer(customer);
-        copyToReserve.setStatus(CopyStatus.RESERVED);
-        Copy savedCopy = copyRepository.save(copyToReserve);
-
-        bookService.updateAvailableCopies(book.getIsbn(), -1);
-        log.info("Copy with ID: {} reserved for customer ID: {}", copyId, customerId);
-        return savedCopy;
+        Copy reservedCopy = claimedCopy.get();
+        adjustAvailableCopies(reservedCopy.getBook(), -1);
+        outboxService.recordCopyEvent(OutboxEventType.COPY_RESERVED, reservedCopy, customerId);
+        log.info("Copy with ID: {} reserved for customer ID: {}", reservedCopy.getId(), customerId);
+        return reservedCopy;
     }
 
+    @Timed(value = "copy_transitions", extraTags = {"transition", "cancel_reservation"}, histogram = true)
     @Transactional
     @Retryable(retryFor = OptimisticLockingFailureException.class, maxAttempts = 2)
     public Copy cancelReservation(Long copyId, Long customerId) {
@@ -238,11 +318,13 @@ public class CopyService {
 
         Copy savedCopy = copyRepository.save(existingCopy);
 
-        bookService.updateAvailableCopies(existingCopy.getBook().getIsbn(), 1);
+        adjustAvailableCopies(existingCopy.getBook(), 1);
+        outboxService.recordCopyEvent(OutboxEventType.COPY_RESERVATION_CANCELLED, savedCopy, customerId);
         log.info("Cancelled reservation for copy with ID: {}", savedCopy.getId());
         return savedCopy;
     }
 
+    @Timed(value = "copy_transitions", extraTags = {"transition", "checkout"}, histogram = true)
     @Transactional
     @Retryable(retryFor = OptimisticLockingFailureException.class, maxAttempts = 2)
     public Copy checkout(Long copyId, Long customerId) {
@@ -272,6 +354,7 @@ public class CopyService {
         }
         copy.setStatus(CopyStatus.BORROWED);
         Copy savedCopy = copyRepository.save(copy);
+        outboxService.recordCopyEvent(OutboxEventType.COPY_CHECKED_OUT, savedCopy, customer.getId());
         log.info("Reserved copy with ID: {} checked out successfully for customer ID: {}", savedCopy.getId(), customer.getId());
         return savedCopy;
     }
@@ -283,11 +366,130 @@ public class CopyService {
 
         Copy savedCopy = copyRepository.save(copy);
 
-        bookService.updateAvailableCopies(copy.getBook().getIsbn(), -1);
+        adjustAvailableCopies(copy.getBook(), -1);
+        outboxService.recordCopyEvent(OutboxEventType.COPY_CHECKED_OUT, savedCopy, customer.getId());
         log.info("Available copy with ID: {} checked out successfully for customer ID: {}", savedCopy.getId(), customer.getId());
         return savedCopy;
     }
 
+    /**
+     * Applies a desk batch in one transaction. All copies and customers are loaded with one query each,
+     * and the counter changes are summed per ISBN so each book gets a single update.
+     * Items are checked against the loaded state before anything changes, so a failed item is reported
+     * and skipped while the others still apply.
+     */
+    @Timed(value = "copy_transitions", extraTags = {"transition", "desk_batch"}, histogram = true)
+    @Transactional
+    @Retryable(retryFor = OptimisticLockingFailureException.class, maxAttempts = 2)
+    public DeskBatchResponse applyDeskBatch(List<DeskBatchItem> items) {
+        log.debug("Applying desk batch of {} operations", items.size());
+        Map<Long, Copy> copies = new HashMap<>();
+        for (Copy copy : copyRepository.findByIdsWithBookAndCustomer(
+                items.stream().map(DeskBatchItem::copyId).collect(Collectors.toSet()))) {
+            copies.put(copy.getId(), copy);
+        }
+        Map<Long, Customer> customers = customerService.getCustomersByIds(items.stream()
+                .map(DeskBatchItem::customerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        List<DeskBatchResult> results = new ArrayList<>(items.size());
+        Map<String, Integer> deltaByIsbn = new LinkedHashMap<>();
+        Map<String, Book> booksByIsbn = new HashMap<>();
+        Set<Copy> changedCopies = new LinkedHashSet<>();
+        List<OutboxEvent> events = new ArrayList<>();
+        for (int index = 0; index < items.size(); index++) {
+            DeskBatchItem item = items.get(index);
+            try {
+                Copy copy = copies.get(item.copyId());
+                if (copy == null) {
+                    throw new ResourceNotFoundException(Messages.COPY_NOT_FOUND + item.copyId());
+                }
+                int delta = applyDeskOperation(item, copy, customers);
+                changedCopies.add(copy);
+                Long customerId = item.action() == DeskBatchItem.Action.MARK_LOST ? customerIdOf(copy) : item.customerId();
+                events.add(OutboxService.copyEvent(eventType(item.action()), copy, customerId));
+                booksByIsbn.putIfAbsent(copy.getBook().getIsbn(), copy.getBook());
+                deltaByIsbn.merge(copy.getBook().getIsbn(), delta, Integer::sum);
+                results.add(DeskBatchResult.succeeded(index, item, copy.getStatus()));
+            } catch (ResourceNotFoundException | IllegalStateException e) {
+                log.info("Desk batch operation {} {} on copy ID: {} failed: {}", index, item.action(), item.copyId(), e.getMessage());
+                results.add(DeskBatchResult.failed(index, item, e.getMessage()));
+            }
+        }
+
+        copyRepository.saveAll(changedCopies);
+        outboxService.recordEvents(events);
+        Map<String, Integer> availableCopiesByIsbn = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : deltaByIsbn.entrySet()) {
+            Book book = booksByIsbn.get(entry.getKey());
+            if (entry.getValue() != 0) {
+                adjustAvailableCopies(book, entry.getValue());
+            }
+            availableCopiesByIsbn.put(book.getIsbn(), book.getAvailableCopies());
+        }
+
+        int succeeded = (int) results.stream().filter(DeskBatchResult::succeeded).count();
+        log.info("Desk batch applied: {} succeeded, {} failed, {} books updated",
+                succeeded, results.size() - succeeded, availableCopiesByIsbn.size());
+        return new DeskBatchResponse(succeeded, results.size() - succeeded, availableCopiesByIsbn, results);
+    }
+
+    // Same rules as the single desk operations; returns the change to the book's available copies
+    private static int applyDeskOperation(DeskBatchItem item, Copy copy, Map<Long, Customer> customers) {
+        if (item.action() == DeskBatchItem.Action.MARK_LOST) {
+            CopyStatus oldStatus = copy.getStatus();
+            copy.setStatus(CopyStatus.LOST);
+            return oldStatus == CopyStatus.AVAILABLE ? -1 : 0;
+        }
+
+        if (item.customerId() == null) {
+            throw new IllegalStateException(Messages.DESK_BATCH_CUSTOMER_REQUIRED + item.action());
+        }
+        Customer customer = customers.get(item.customerId());
+        if (customer == null) {
+            throw new ResourceNotFoundException(Messages.CUSTOMER_NOT_FOUND + item.customerId());
+        }
+
+        if (item.action() == DeskBatchItem.Action.RETURN) {
+            if (copy.getStatus() != CopyStatus.BORROWED) {
+                throw new IllegalStateException(Messages.COPY_NOT_BORROWED + copy.getStatus());
+            }
+            if (copy.getCustomer() != null && !copy.getCustomer().getId().equals(customer.getId())) {
+                throw new IllegalStateException(Messages.COPY_WRONG_CUSTOMER + copy.getCustomer().getId());
+            }
+            copy.setCustomer(null);
+            copy.setStatus(CopyStatus.AVAILABLE);
+            return 1;
+        }
+
+        if (copy.getStatus() == CopyStatus.RESERVED) {
+            if (!copy.getCustomer().getId().equals(customer.getId())) {
+                throw new IllegalStateException(Messages.COPY_RESERVED_FOR_ANOTHER_CUSTOMER + copy.getCustomer().getId());
+            }
+            copy.setStatus(CopyStatus.BORROWED);
+            return 0;
+        }
+        if (copy.getStatus() == CopyStatus.AVAILABLE) {
+            copy.setCustomer(customer);
+            copy.setStatus(CopyStatus.BORROWED);
+            return -1;
+        }
+        throw new IllegalStateException(Messages.COPY_UNAVAILABLE_FOR_CHECKOUT + copy.getStatus());
+    }
+
+    private static Long customerIdOf(Copy copy) {
+        return copy.getCustomer() != null ? copy.getCustomer().getId() : null;
+    }
+
+    private static OutboxEventType eventType(DeskBatchItem.Action action) {
+        return switch (action) {
+            case CHECKOUT -> OutboxEventType.COPY_CHECKED_OUT;
+            case RETURN -> OutboxEventType.COPY_RETURNED;
+            case MARK_LOST -> OutboxEventType.COPY_MARKED_LOST;
+        };
+    }
+
     // Helpers
 
     public Copy getCopyOrThrow(Long id) {
@@ -301,4 +503,9 @@ public class CopyService {
         log.debug("Found copy with ID: {}, status: {}", savedCopy.getId(), savedCopy.getStatus());
         return savedCopy;
     }
+
+    private void adjustAvailableCopies(Book book, int delta) {
+        // Keep the in-memory book in sync with the counter so responses show the new value
+        book.setAvailableCopies(bookService.updateAvailableCopies(book.getIsbn(), delta));
+    }
 }
@@ -1,30 +1,49 @@
 package librarymanagement.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import librarymanagement.config.ReadFromPrimary;
 import librarymanagement.constants.Messages;
 import librarymanagement.model.User;
 import librarymanagement.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.Optional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private static final Logger log = LoggerFactory.getLogger(CustomUserDetailsService.class);
     private final UserRepository userRepository;
+    private final Cache<String, LibraryUserDetails> userCache = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
 
     public CustomUserDetailsService(UserRepository userRepository) {
         this.userRepository = userRepository;
     }
 
+    // On the primary: a user who just registered may not have reached the replicas yet
     @Override
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    public LibraryUserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         log.debug("Loading user by username: {}", username);
+        LibraryUserDetails cachedUser = userCache.getIfPresent(username);
+        if (cachedUser != null) {
+            log.debug("Found cached user: {}, role: {}", username, cachedUser.getRole());
+            return cachedUser.copy();
+        }
+
         Optional<User> optionalUser = userRepository.findByUsername(username);
         if (optionalUser.isEmpty()) {
             log.warn("User not found with username: {}", username);
@@ -34,10 +53,28 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         log.debug("Found user: {}, role: {}", user.getUsername(), user.getRole());
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .roles(user.getRole().name().replace("ROLE_", ""))
-                .build();
+        LibraryUserDetails userDetails = LibraryUserDetails.from(user);
+        userCache.put(username, userDetails);
+        return userDetails.copy();
+    }
+
+    /**
+     * Called after a successful login whose stored hash is outdated, with the password hashed by the current encoder.
+     */
+    @Override
+    @Transactional
+    public LibraryUserDetails updatePassword(UserDetails user, String newPassword) {
+        log.info("Rehashing password of user: {}", user.getUsername());
+        User storedUser = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(Messages.USERNAME_NOT_FOUND + user.getUsername()));
+        storedUser.setPassword(newPassword);
+        userRepository.save(storedUser);
+        evictUser(user.getUsername());
+        return LibraryUserDetails.from(storedUser);
+    }
+
+    public void evictUser(String username) {
+        log.debug("Evicting cached user: {}", username);
+        userCache.invalidate(username);
     }
-}
\ No newline at end of file
+}
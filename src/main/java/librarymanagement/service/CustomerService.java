@@ -1,7 +1,9 @@
 package librarymanagement.service;
 
-import jakarta.transaction.Transactional;
 import librarymanagement.constants.Messages;
+import librarymanagement.dto.CountedPage;
+import librarymanagement.dto.CursorPage;
+import librarymanagement.dto.CustomerListItem;
 import librarymanagement.exception.DuplicateResourceException;
 import librarymanagement.exception.ResourceNotFoundException;
 import librarymanagement.model.Customer;
@@ -10,12 +12,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -23,28 +29,64 @@ public class CustomerService {
 
     private static final Logger log = LoggerFactory.getLogger(CustomerService.class);
     private final CustomerRepository customerRepository;
+    private final PageCountService pageCountService;
 
-    public CustomerService(CustomerRepository customerRepository) {
+    public CustomerService(CustomerRepository customerRepository, PageCountService pageCountService) {
         this.customerRepository = customerRepository;
+        this.pageCountService = pageCountService;
     }
 
-    public Page<Customer> getAllCustomers(Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<CustomerListItem> getAllCustomers(Pageable pageable) {
         log.debug("Fetching all customers, page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Long> idPage = customerRepository.findAllIds(pageable);
+        List<Long> ids = customerRepository.findAllIds(pageable);
 
-        if (idPage.getContent().isEmpty()) {
+        if (ids.isEmpty()) {
             log.debug("No customers found, returning empty page");
             return Page.empty(pageable);
         }
 
-        List<Customer> customers = customerRepository.findByIds(idPage.getContent());
+        List<CustomerListItem> customers = customerRepository.findListItemsByIds(ids);
+        PageCountService.TotalCount total = pageCountService.estimatedCount("customers", pageable, ids.size(),
+                customerRepository::count);
 
-        log.debug("Retrieved {} customers out of {} total", customers.size(), idPage.getTotalElements());
+        log.debug("Retrieved {} customers out of {} total", customers.size(), total.value());
 
-        return new PageImpl<>(customers, pageable, idPage.getTotalElements());
+        return new CountedPage<>(customers, pageable, total.value(), total.exact());
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<CustomerListItem> getAllCustomers(String cursor, int size) {
+        int pageSize = KeysetCursor.clampSize(size);
+        log.debug("Fetching customers after cursor: '{}', size: {}", cursor, pageSize);
+
+        // One extra row tells whether another page exists without a COUNT query
+        List<Long> ids;
+        if (KeysetCursor.isFirstPage(cursor)) {
+            ids = customerRepository.findFirstIds(PageRequest.ofSize(pageSize + 1));
+        } else {
+            String[] keys = KeysetCursor.decode(cursor, 3);
+            ids = customerRepository.findIdsAfter(keys[0], keys[1], KeysetCursor.decodeId(keys[2]),
+                    PageRequest.ofSize(pageSize + 1));
+        }
+        boolean hasNext = ids.size() > pageSize;
+
+        if (ids.isEmpty()) {
+            log.debug("No customers found after cursor: '{}'", cursor);
+            return CursorPage.empty(pageSize);
+        }
+
+        List<CustomerListItem> customers = customerRepository.findListItemsByIds(hasNext ? ids.subList(0, pageSize) : ids);
+        CustomerListItem last = customers.getLast();
+        String nextCursor = hasNext ? KeysetCursor.encode(last.lastName(), last.firstName(), last.id()) : null;
+
+        log.debug("Retrieved {} customers after cursor: '{}'", customers.size(), cursor);
+
+        return new CursorPage<>(customers, pageSize, hasNext, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
     public Customer getCustomerById(Long id) {
         log.debug("Looking up customer by ID: {}", id);
         Optional<Customer> customer = customerRepository.findById(id);
@@ -57,19 +99,38 @@ public class CustomerService {
         return existingCustomer;
     }
 
-    public Page<Customer> getCustomersByLastName(String lastName, Pageable pageable) {
+    /**
+     * Loads the customers with the given IDs in one query. Unknown IDs are left out of the map.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Customer> getCustomersByIds(Collection<Long> ids) {
+        log.debug("Looking up {} customers by ID", ids.size());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Customer> customers = new HashMap<>();
+        for (Customer customer : customerRepository.findAllById(ids)) {
+            customers.put(customer.getId(), customer);
+        }
+        return customers;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<CustomerListItem> getCustomersByLastName(String lastName, Pageable pageable) {
         log.debug("Searching customers by last name: {}, page: {}, size: {}", lastName, pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Long> idPage = customerRepository.findIdsByLastName(lastName, pageable);
+        List<Long> ids = customerRepository.findIdsByLastName(lastName, pageable);
 
-        if (idPage.getContent().isEmpty()) {
+        if (ids.isEmpty()) {
             log.debug("No customers found with last name containing: {}", lastName);
             return Page.empty(pageable);
         }
 
-        List<Customer> customers = customerRepository.findByIds(idPage.getContent());
+        List<CustomerListItem> customers = customerRepository.findListItemsByIds(ids);
+        PageCountService.TotalCount total = pageCountService.exactCount("customers:last-name:" + lastName, pageable, ids.size(),
+                () -> customerRepository.countByLastName(lastName));
         log.debug("Found {} customers with last name containing: {}", customers.size(), lastName);
-        return new PageImpl<>(customers, pageable, idPage.getTotalElements());
+        return new CountedPage<>(customers, pageable, total.value(), total.exact());
     }
 
     @Retryable(retryFor = DataIntegrityViolationException.class, maxAttempts = 2)
@@ -0,0 +1,59 @@
+package librarymanagement.service;
+
+import librarymanagement.constants.Messages;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation tokens for keyset pagination. A token holds the sort key of the last row of the previous
+ * page, so the next page is a range scan on the index instead of an OFFSET over everything before it.
+ */
+public final class KeysetCursor {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final String SEPARATOR = "\u001F";
+
+    private KeysetCursor() {
+    }
+
+    public static boolean isFirstPage(String cursor) {
+        return cursor == null || cursor.isBlank();
+    }
+
+    public static int clampSize(int size) {
+        return Math.clamp(size, 1, MAX_PAGE_SIZE);
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                joined.append(SEPARATOR);
+            }
+            joined.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedKeys) {
+        String[] keys;
+        try {
+            keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(Messages.PAGINATION_INVALID_CURSOR);
+        }
+        if (keys.length != expectedKeys) {
+            throw new IllegalArgumentException(Messages.PAGINATION_INVALID_CURSOR);
+        }
+        return keys;
+    }
+
+    public static long decodeId(String key) {
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(Messages.PAGINATION_INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package librarymanagement.service;
+
+import librarymanagement.model.Role;
+import librarymanagement.model.User;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authenticated principal carrying the IDs that request handlers need, so they do not have to look up the user again.
+ */
+public class LibraryUserDetails implements UserDetails, CredentialsContainer {
+
+    private final Long userId;
+    private final String username;
+    private String password;
+    private final Role role;
+    private final Long customerId;
+
+    public LibraryUserDetails(Long userId, String username, String password, Role role, Long customerId) {
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+        this.customerId = customerId;
+    }
+
+    public static LibraryUserDetails from(User user) {
+        Long customerId = user.getCustomer() != null ? user.getCustomer().getId() : null;
+        return new LibraryUserDetails(user.getId(), user.getUsername(), user.getPassword(), user.getRole(), customerId);
+    }
+
+    // Authentication erases the password of the principal it returns, so cached instances are never handed out
+    public LibraryUserDetails copy() {
+        return new LibraryUserDetails(userId, username, password, role, customerId);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
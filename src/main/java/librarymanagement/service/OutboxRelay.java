@@ -0,0 +1,127 @@
+package librarymanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import librarymanagement.model.OutboxEvent;
+import librarymanagement.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox table to the {@link OutboxSubscriber}s. Each batch is locked, delivered and deleted in one
+ * transaction, so an event is only gone once every subscriber has taken it.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSubscriber> subscribers;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Timer deliveryLag;
+    private final Counter deliveryFailures;
+    // Age of the oldest event seen by the last poll, 0 once the outbox was found empty
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, List<OutboxSubscriber> subscribers,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                       @Value("${library.outbox.batch-size}") int batchSize,
+                       @Value("${library.outbox.max-attempts}") int maxAttempts,
+                       @Value("${library.outbox.retry-backoff}") Duration retryBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.subscribers = subscribers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.deliveryLag = Timer.builder("outbox_delivery_lag")
+                .description("Time from writing an outbox event to its delivery to every subscriber")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.deliveryFailures = Counter.builder("outbox_delivery_failures")
+                .description("Outbox deliveries in which a subscriber threw")
+                .register(meterRegistry);
+        Gauge.builder("outbox_oldest_pending_seconds", oldestPendingMillis, millis -> millis.get() / 1000.0)
+                .description("Age of the oldest undelivered outbox event at the last poll")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${library.outbox.poll-interval}", initialDelayString = "${library.outbox.poll-interval}")
+    public void relayPending() {
+        // Only a batch delivered in full suggests more is waiting, failures wait for their backoff instead
+        int delivered;
+        do {
+            delivered = relayBatch();
+        } while (delivered == batchSize);
+    }
+
+    /**
+     * @return how many events of the batch were delivered
+     */
+    int relayBatch() {
+        Integer delivered = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxEvent> events = outboxEventRepository.lockNextBatch(maxAttempts, now, batchSize);
+            oldestPendingMillis.set(events.isEmpty() ? 0 : Duration.between(events.getFirst().getCreatedAt(), now).toMillis());
+
+            List<OutboxEvent> deliveredEvents = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                if (deliver(event)) {
+                    deliveredEvents.add(event);
+                    deliveryLag.record(Duration.between(event.getCreatedAt(), Instant.now()));
+                } else {
+                    event.setAttempts(event.getAttempts() + 1);
+                    event.setNextAttemptAt(now.plus(backoffAfter(event.getAttempts())));
+                    if (event.getAttempts() >= maxAttempts) {
+                        log.error("Giving up on outbox event {} {} after {} attempts, it stays in the table",
+                                event.getId(), event.getType(), event.getAttempts());
+                    }
+                }
+            }
+            outboxEventRepository.deleteAllInBatch(deliveredEvents);
+            return deliveredEvents.size();
+        });
+
+        if (delivered > 0) {
+            log.debug("Relayed outbox batch of {} events", delivered);
+        }
+        return delivered;
+    }
+
+    // Doubles with every failed attempt
+    private Duration backoffAfter(int attempts) {
+        return retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 16));
+    }
+
+    private boolean deliver(OutboxEvent event) {
+        for (OutboxSubscriber subscriber : subscribers) {
+            try {
+                subscriber.onEvent(event);
+            } catch (RuntimeException e) {
+                log.warn("Outbox subscriber {} failed on event {} {}, attempt {}",
+                        subscriber.getClass().getSimpleName(), event.getId(), event.getType(), event.getAttempts() + 1, e);
+                deliveryFailures.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,41 @@
+package librarymanagement.service;
+
+import librarymanagement.model.Copy;
+import librarymanagement.model.OutboxEvent;
+import librarymanagement.model.OutboxEventType;
+import librarymanagement.repository.OutboxEventRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    // Mandatory, so an event can only be written alongside the change it describes
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBookEvent(OutboxEventType type, String isbn) {
+        outboxEventRepository.save(new OutboxEvent(type, isbn, null, null));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCopyEvent(OutboxEventType type, Copy copy, Long customerId) {
+        outboxEventRepository.save(copyEvent(type, copy, customerId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordEvents(Collection<OutboxEvent> events) {
+        outboxEventRepository.saveAll(events);
+    }
+
+    public static OutboxEvent copyEvent(OutboxEventType type, Copy copy, Long customerId) {
+        return new OutboxEvent(type, copy.getBook().getIsbn(), copy.getId(), customerId);
+    }
+}
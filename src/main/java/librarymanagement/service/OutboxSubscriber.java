@@ -0,0 +1,13 @@
+package librarymanagement.service;
+
+import librarymanagement.model.OutboxEvent;
+
+/**
+ * Receives committed book and copy changes from the {@link OutboxRelay}, off the request path.
+ * Delivery is at least once: an event is redelivered to every subscriber when any of them fails,
+ * so implementations must tolerate seeing an event twice.
+ */
+public interface OutboxSubscriber {
+
+    void onEvent(OutboxEvent event);
+}
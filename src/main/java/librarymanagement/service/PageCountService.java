@@ -0,0 +1,92 @@
+package librarymanagement.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import librarymanagement.repository.TableStatisticsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+@Service
+public class PageCountService {
+
+    private static final Logger log = LoggerFactory.getLogger(PageCountService.class);
+    private final TableStatisticsRepository tableStatisticsRepository;
+    private final AsyncCache<String, Long> exactCounts;
+    private final long estimateThreshold;
+
+    public PageCountService(TableStatisticsRepository tableStatisticsRepository,
+                            @Value("${library.pagination.count-cache-ttl}") Duration countCacheTtl,
+                            @Value("${library.pagination.estimate-threshold}") long estimateThreshold) {
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.exactCounts = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(countCacheTtl)
+                .buildAsync();
+        this.estimateThreshold = estimateThreshold;
+    }
+
+    public record TotalCount(long value, boolean exact) {
+    }
+
+    /**
+     * Total for a filtered listing. The count query result is shared between requests for a short time.
+     */
+    public TotalCount exactCount(String filterKey, Pageable pageable, int fetchedRows, LongSupplier countQuery) {
+        Optional<Long> fromPage = totalFromPage(pageable, fetchedRows);
+        if (fromPage.isPresent()) {
+            return new TotalCount(fromPage.get(), true);
+        }
+
+        // The count runs outside the cache's compute, which would hold a monitor during the query and pin a virtual thread.
+        // Concurrent requests for the same filter still wait for the one running count.
+        CompletableFuture<Long> count = new CompletableFuture<>();
+        CompletableFuture<Long> running = exactCounts.asMap().putIfAbsent(filterKey, count);
+        if (running != null) {
+            return new TotalCount(running.join(), true);
+        }
+        try {
+            log.debug("Counting rows for: {}", filterKey);
+            count.complete(countQuery.getAsLong());
+        } catch (RuntimeException e) {
+            exactCounts.asMap().remove(filterKey, count);
+            count.completeExceptionally(e);
+            throw e;
+        }
+        return new TotalCount(count.join(), true);
+    }
+
+    /**
+     * Total for an unfiltered listing. Large tables use the planner estimate instead of scanning every row.
+     */
+    public TotalCount estimatedCount(String table, Pageable pageable, int fetchedRows, LongSupplier countQuery) {
+        Optional<Long> fromPage = totalFromPage(pageable, fetchedRows);
+        if (fromPage.isPresent()) {
+            return new TotalCount(fromPage.get(), true);
+        }
+        Optional<Long> estimate = tableStatisticsRepository.estimateRowCount(table);
+        if (estimate.isPresent() && estimate.get() >= estimateThreshold) {
+            log.debug("Using estimated row count {} for table: {}", estimate.get(), table);
+            return new TotalCount(estimate.get(), false);
+        }
+        return exactCount(table, pageable, fetchedRows, countQuery);
+    }
+
+    // Same shortcut as Spring Data: the first or last page can reveal the total without counting
+    private Optional<Long> totalFromPage(Pageable pageable, int fetchedRows) {
+        if (pageable.isUnpaged()) {
+            return Optional.of((long) fetchedRows);
+        }
+        if (fetchedRows < pageable.getPageSize() && (pageable.getOffset() == 0 || fetchedRows > 0)) {
+            return Optional.of(pageable.getOffset() + fetchedRows);
+        }
+        return Optional.empty();
+    }
+}
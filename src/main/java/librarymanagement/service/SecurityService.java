@@ -4,6 +4,7 @@ import librarymanagement.model.User;
 import librarymanagement.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -20,20 +21,29 @@ public class SecurityService {
     }
 
     public Long getCurrentCustomerId() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
         log.debug("Getting customer ID for authenticated user: {}", username);
 
+        // Set at login, so the common case needs no query
+        if (authentication.getPrincipal() instanceof LibraryUserDetails userDetails) {
+            return requireCustomerId(username, userDetails.getCustomerId());
+        }
+
         Optional<User> optionalUser = userRepository.findByUsername(username);
         if (optionalUser.isEmpty()) {
             log.error("User not found in security context: {}", username);
             throw new IllegalStateException("User not found in the security context");
         }
-        if (optionalUser.get().getCustomer() == null) {
+        User user = optionalUser.get();
+        return requireCustomerId(username, user.getCustomer() != null ? user.getCustomer().getId() : null);
+    }
+
+    private Long requireCustomerId(String username, Long customerId) {
+        if (customerId == null) {
             log.warn("User {} does not have an associated customer", username);
             throw new IllegalStateException("User does not have an associated customer");
         }
-
-        Long customerId = optionalUser.get().getCustomer().getId();
         log.debug("Found customer ID: {} for user: {}", customerId, username);
         return customerId;
     }
@@ -1,6 +1,5 @@
 package librarymanagement.service;
 
-import jakarta.transaction.Transactional;
 import librarymanagement.constants.Messages;
 import librarymanagement.dto.UserRegistrationRequest;
 import librarymanagement.exception.DuplicateResourceException;
@@ -15,6 +14,7 @@ import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -25,11 +25,14 @@ public class UserService {
     private final UserRepository userRepository;
     private final CustomerRepository customerRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
 
-    public UserService(UserRepository userRepository, CustomerRepository customerRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, CustomerRepository customerRepository, PasswordEncoder passwordEncoder,
+                       CustomUserDetailsService userDetailsService) {
         this.userRepository = userRepository;
         this.customerRepository = customerRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsService = userDetailsService;
     }
 
     @Transactional
@@ -66,6 +69,7 @@ public class UserService {
         }
 
         User savedUser = userRepository.save(user);
+        userDetailsService.evictUser(savedUser.getUsername());
         log.info("User added with username: {}", savedUser.getUsername());
         return savedUser;
     }
@@ -8,4 +8,20 @@ CREATE INDEX IF NOT EXISTS idx_copies_customer_id ON copies(customer_id);
 CREATE INDEX IF NOT EXISTS idx_customer_name ON customers(last_name, first_name);
 CREATE INDEX IF NOT EXISTS idx_customer_lastname_pattern ON customers USING gin(last_name gin_trgm_ops);
 CREATE INDEX IF NOT EXISTS idx_users_username ON users(username);
-CREATE UNIQUE INDEX IF NOT EXISTS idx_customer_email ON customers(email) WHERE email IS NOT NULL;
\ No newline at end of file
+CREATE UNIQUE INDEX IF NOT EXISTS idx_customer_email ON customers(email) WHERE email IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_books_title_isbn ON books(title, isbn);
+CREATE INDEX IF NOT EXISTS idx_customer_name_id ON customers(last_name, first_name, id);
+CREATE INDEX IF NOT EXISTS idx_books_search_text ON books USING gin(search_text gin_trgm_ops);
+UPDATE books b
+SET search_text = LOWER(b.title || COALESCE(
+        (SELECT ' ' || string_agg(ba.authors_name, ' ') FROM books_authors ba WHERE ba.books_isbn = b.isbn), ''))
+WHERE b.search_text IS NULL;
+SELECT setval('copies_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM copies), (SELECT last_value FROM copies_seq)));
+-- ALTER TYPE locks out logins even when the column is already wide enough, so only widen once
+DO '
+BEGIN
+    IF (SELECT character_maximum_length FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = ''users'' AND column_name = ''password'') < 255 THEN
+        ALTER TABLE users ALTER COLUMN password TYPE VARCHAR(255);
+    END IF;
+END';
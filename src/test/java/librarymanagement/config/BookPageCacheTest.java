@@ -0,0 +1,240 @@
+package librarymanagement.config;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import librarymanagement.model.Book;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookPageCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BookPageCache bookPageCache = new BookPageCache(
+            new CaffeineCache("book-pages", Caffeine.newBuilder().build()), meterRegistry);
+
+    @Test
+    void testEvictOnlyPagesContainingBook() {
+        Pageable firstPage = PageRequest.of(0, 2);
+        Pageable secondPage = PageRequest.of(1, 2);
+        bookPageCache.put(BookPageCache.keyFor(firstPage), new PageImpl<>(List.of(book("1111111111"), book("2222222222")), firstPage, 4));
+        bookPageCache.put(BookPageCache.keyFor(secondPage), new PageImpl<>(List.of(book("3333333333"), book("4444444444")), secondPage, 4));
+
+        bookPageCache.evictPagesContaining("3333333333");
+
+        assertThat(bookPageCache.get(BookPageCache.keyFor(firstPage))).isNotNull();
+        assertThat(bookPageCache.get(BookPageCache.keyFor(secondPage))).isNull();
+        assertThat(meterRegistry.summary("book_pages_evicted_per_mutation").totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void testEvictPagesSortedByAvailableCopies() {
+        Pageable sortedPage = PageRequest.of(0, 2, Sort.by("availableCopies"));
+        bookPageCache.put(BookPageCache.keyFor(sortedPage), new PageImpl<>(List.of(book("1111111111")), sortedPage, 1));
+
+        // The page does not contain the book, but a counter change can still reorder it
+        bookPageCache.evictPagesContaining("9999999999");
+        assertThat(bookPageCache.get(BookPageCache.keyFor(sortedPage))).isNull();
+    }
+
+    @Test
+    void testReloadReindexesThePage() {
+        Pageable firstPage = PageRequest.of(0, 2);
+        Object key = BookPageCache.keyFor(firstPage);
+        bookPageCache.put(key, new PageImpl<>(List.of(book("1111111111"), book("3333333333")), firstPage, 2));
+        bookPageCache.setPageSource(pageable -> new PageImpl<>(List.of(book("1111111111"), book("2222222222")), pageable, 2));
+
+        Object reloaded = bookPageCache.reload(key, bookPageCache.get(key).get());
+        assertThat(bookPageCache.get(key).get()).isSameAs(reloaded);
+        // The book that left the page no longer has an index entry
+        assertThat(bookPageCache.indexedIsbns()).isEqualTo(2);
+
+        // The book that moved onto the page while it was cached now evicts it
+        bookPageCache.evictPagesContaining("2222222222");
+        assertThat(bookPageCache.get(key)).isNull();
+        assertThat(bookPageCache.indexedIsbns()).isZero();
+    }
+
+    @Test
+    void testRefreshAfterWriteKeepsTheReloadedPage() {
+        AtomicLong nanos = new AtomicLong();
+        AtomicReference<BookPageCache> cacheRef = new AtomicReference<>();
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = Caffeine.newBuilder()
+                .executor(Runnable::run)
+                .ticker(nanos::get)
+                .refreshAfterWrite(Duration.ofMinutes(1))
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Object load(Object key) {
+                        return null;
+                    }
+
+                    @Override
+                    public Object reload(Object key, Object oldValue) {
+                        return cacheRef.get().reload(key, oldValue);
+                    }
+                });
+        BookPageCache refreshingCache = new BookPageCache(new CaffeineCache("book-pages", nativeCache), meterRegistry);
+        cacheRef.set(refreshingCache);
+        Pageable firstPage = PageRequest.of(0, 2);
+        Object key = BookPageCache.keyFor(firstPage);
+        refreshingCache.put(key, new PageImpl<>(List.of(book("1111111111")), firstPage, 1));
+        refreshingCache.setPageSource(pageable -> new PageImpl<>(List.of(book("2222222222")), pageable, 1));
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        nativeCache.getIfPresent(key);
+
+        assertThat(((Page<?>) refreshingCache.get(key).get()).getContent()).extracting("isbn").containsExactly("2222222222");
+        assertThat(refreshingCache.indexedIsbns()).isEqualTo(1);
+    }
+
+    @Test
+    void testReloadOfAnEvictedPageIsDropped() {
+        Pageable firstPage = PageRequest.of(0, 2);
+        Object key = BookPageCache.keyFor(firstPage);
+        bookPageCache.put(key, new PageImpl<>(List.of(book("1111111111")), firstPage, 1));
+        Object oldValue = bookPageCache.get(key).get();
+        bookPageCache.setPageSource(pageable -> {
+            bookPageCache.evictPagesContaining("1111111111");
+            return new PageImpl<>(List.of(book("1111111111"), book("2222222222")), pageable, 2);
+        });
+
+        bookPageCache.reload(key, oldValue);
+
+        assertThat(bookPageCache.get(key)).isNull();
+        assertThat(bookPageCache.indexedIsbns()).isZero();
+    }
+
+    @Test
+    void testEvictionsWaitForCommit() {
+        Pageable firstPage = PageRequest.of(0, 2);
+        bookPageCache.put(BookPageCache.keyFor(firstPage), new PageImpl<>(List.of(book("1111111111")), firstPage, 1));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookPageCache.evictPagesContaining("1111111111");
+            bookPageCache.clear();
+            assertThat(bookPageCache.get(BookPageCache.keyFor(firstPage))).isNotNull();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(bookPageCache.get(BookPageCache.keyFor(firstPage))).isNull();
+    }
+
+    @Test
+    void testEvictionsLeaveNoIndexEntries() {
+        AtomicReference<BookPageCache> cacheRef = new AtomicReference<>();
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .executor(Runnable::run)
+                .evictionListener((key, value, cause) -> cacheRef.get().onEvicted(key, value))
+                .build();
+        BookPageCache boundedCache = new BookPageCache(new CaffeineCache("book-pages", nativeCache), meterRegistry);
+        cacheRef.set(boundedCache);
+
+        Pageable firstPage = PageRequest.of(0, 2);
+        Pageable secondPage = PageRequest.of(1, 2);
+        boundedCache.put(BookPageCache.keyFor(firstPage), new PageImpl<>(List.of(book("1111111111"), book("2222222222")), firstPage, 4));
+        boundedCache.put(BookPageCache.keyFor(secondPage), new PageImpl<>(List.of(book("3333333333"), book("4444444444")), secondPage, 4));
+        nativeCache.cleanUp();
+        assertThat(nativeCache.estimatedSize()).isEqualTo(1);
+        assertThat(boundedCache.indexedIsbns()).isEqualTo(2);
+
+        // Evicting through one book also drops the entries of the page's other books
+        boundedCache.evictPagesContaining(nativeCache.asMap().containsKey(BookPageCache.keyFor(firstPage)) ? "1111111111" : "3333333333");
+        assertThat(boundedCache.indexedIsbns()).isZero();
+    }
+
+    @Test
+    void testLoadOverlappingAnEvictionIsNotKept() {
+        Pageable firstPage = PageRequest.of(0, 2);
+        Object key = BookPageCache.keyFor(firstPage);
+
+        Page<?> page = bookPageCache.get(key, () -> {
+            // A write commits while the page is loading, after its old state was read
+            bookPageCache.evictPagesContaining("1111111111");
+            return new PageImpl<>(List.of(book("1111111111")), firstPage, 1);
+        });
+
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(bookPageCache.get(key)).isNull();
+        assertThat(bookPageCache.indexedIsbns()).isZero();
+
+        // A load that only overlapped an eviction of another book is kept
+        bookPageCache.get(key, () -> {
+            bookPageCache.evictPagesContaining("9999999999");
+            return new PageImpl<>(List.of(book("1111111111")), firstPage, 1);
+        });
+        assertThat(bookPageCache.get(key)).isNotNull();
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        Pageable firstPage = PageRequest.of(0, 2);
+        Object key = BookPageCache.keyFor(firstPage);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Page<?>> first = executor.submit(() -> bookPageCache.get(key, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return new PageImpl<>(List.of(book("1111111111")), firstPage, 1);
+            }));
+            loading.await();
+            Future<Page<?>> second = executor.submit(() -> bookPageCache.get(key, () -> {
+                loads.incrementAndGet();
+                return new PageImpl<>(List.of(book("2222222222")), firstPage, 1);
+            }));
+            release.countDown();
+
+            assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(bookPageCache.indexedIsbns()).isEqualTo(1);
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        Object key = BookPageCache.keyFor(PageRequest.of(0, 2));
+
+        assertThatThrownBy(() -> bookPageCache.get(key, () -> {
+            throw new IllegalStateException("Database unavailable");
+        })).isInstanceOf(Cache.ValueRetrievalException.class).hasRootCauseMessage("Database unavailable");
+
+        assertThat(bookPageCache.get(key)).isNull();
+        assertThat(bookPageCache.get(key, () -> new PageImpl<>(List.of(book("1111111111"))))).isNotNull();
+    }
+
+    private static Book book(String isbn) {
+        Book book = new Book();
+        book.setIsbn(isbn);
+        return book;
+    }
+}
@@ -0,0 +1,106 @@
+package librarymanagement.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import librarymanagement.exception.PasswordHashingBusyException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testEncodesWithConfiguredEncoderAndUpgradesOthers() {
+        try (BoundedPasswordEncoder encoder = new SecurityConfig().passwordEncoder(meterRegistry, "pbkdf2", 4, 1, 4, Duration.ofSeconds(5))) {
+            String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+            String hash = encoder.encode("secret");
+
+            assertThat(hash).startsWith("{pbkdf2}");
+            assertThat(encoder.matches("secret", hash)).isTrue();
+            assertThat(encoder.matches("secret", legacyHash)).isTrue();
+            assertThat(encoder.matches("wrong", legacyHash)).isFalse();
+            assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+            assertThat(encoder.upgradeEncoding(hash)).isFalse();
+        }
+    }
+
+    @Test
+    void testUpgradesBcryptHashesWithOtherCost() {
+        try (BoundedPasswordEncoder encoder = new SecurityConfig().passwordEncoder(meterRegistry, "bcrypt", 5, 1, 0, Duration.ofSeconds(5))) {
+            assertThat(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+            assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+        }
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = blockingEncoder(started, release);
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, Duration.ofSeconds(5), meterRegistry)) {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+            while (meterRegistry.get("executor.queued").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThatThrownBy(() -> encoder.encode("third")).isInstanceOf(PasswordHashingBusyException.class);
+            assertThat(meterRegistry.get("password_hashing_rejected").counter().count()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+        }
+    }
+
+    @Test
+    void testGivesUpAfterLatencyBudget() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = blockingEncoder(started, release);
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 4, Duration.ofMillis(50), meterRegistry)) {
+            assertThatThrownBy(() -> encoder.encode("slow")).isInstanceOf(PasswordHashingBusyException.class);
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(meterRegistry.get("password_hashing_timeouts").counter().count()).isEqualTo(1);
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testQueueCapacityFollowsLatencyBudget() {
+        assertThat(BoundedPasswordEncoder.queueCapacityFor(2, Duration.ofSeconds(1), Duration.ofMillis(80))).isEqualTo(24);
+        assertThat(BoundedPasswordEncoder.queueCapacityFor(2, Duration.ofMillis(100), Duration.ofSeconds(1))).isEqualTo(1);
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+}
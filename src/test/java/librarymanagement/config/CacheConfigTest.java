@@ -0,0 +1,76 @@
+package librarymanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import librarymanagement.dto.BookCreateRequest;
+import librarymanagement.service.BookService;
+import librarymanagement.utils.TestISBNGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheConfigTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void testEachCacheHasItsOwnMeters() {
+        String isbn = TestISBNGenerator.next();
+        bookService.addBook(new BookCreateRequest(isbn, "Metered Book", Set.of("Metered Author"), 2024));
+        bookService.getBookByIsbn(isbn);
+        bookService.getAllBooks(PageRequest.of(0, 5));
+        bookService.getAllBooks(PageRequest.of(0, 5));
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "books").tag("result", "hit").counter().count()).isPositive();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "book-pages").tag("result", "hit").counter().count()).isPositive();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "book-pages").tag("result", "miss").counter().count()).isPositive();
+        for (String cache : Set.of("books", "book-pages", "authors")) {
+            assertThat(meterRegistry.get("cache.size").tag("cache", cache).gauge()).isNotNull();
+            assertThat(meterRegistry.get("cache.weighted.size").tag("cache", cache).gauge()).isNotNull();
+            assertThat(meterRegistry.get("cache.evictions").tag("cache", cache).tag("cause", "SIZE").summary()).isNotNull();
+        }
+        assertThat(meterRegistry.find("cache_hit_rate_total").gauge()).isNull();
+    }
+
+    @Test
+    void testFlushesAreTaggedWithTheirReason() {
+        bookService.getAllBooks(PageRequest.of(0, 5));
+        bookService.addBook(new BookCreateRequest(TestISBNGenerator.next(), "Flushing Book", Set.of("Flushing Author"), 2024));
+
+        assertThat(meterRegistry.get("cache_flushes")
+                .tag("cache", "book-pages")
+                .tag("reason", "BookService.addBook")
+                .summary().count()).isPositive();
+        assertThat(meterRegistry.get("cache_flushes")
+                .tag("cache", "authors")
+                .tag("reason", "BookService.addBook")
+                .summary().count()).isPositive();
+    }
+
+    @Test
+    void testCachesFollowTheirSpecs() {
+        var bookPages = (com.github.benmanes.caffeine.cache.Cache<?, ?>) cacheManager.getCache("book-pages").getNativeCache();
+        assertThat(bookPages.policy().eviction().orElseThrow().isWeighted()).isTrue();
+        assertThat(bookPages.policy().eviction().orElseThrow().getMaximum()).isEqualTo(64L * 1024 * 1024);
+        assertThat(bookPages.policy().refreshAfterWrite()).isPresent();
+
+        var books = (com.github.benmanes.caffeine.cache.Cache<?, ?>) cacheManager.getCache("books").getNativeCache();
+        assertThat(books.policy().eviction().orElseThrow().getMaximum()).isEqualTo(32L * 1024 * 1024);
+        assertThat(books.policy().refreshAfterWrite()).isEmpty();
+    }
+}
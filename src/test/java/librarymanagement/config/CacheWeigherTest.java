@@ -0,0 +1,39 @@
+package librarymanagement.config;
+
+import librarymanagement.model.Author;
+import librarymanagement.model.Book;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheWeigherTest {
+
+    private final CacheWeigher weigher = new CacheWeigher();
+
+    @Test
+    void testPageWeighsAboutAsMuchAsItsBooks() {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            books.add(new Book("97800000000%02d".formatted(i), "A Reasonably Long Title " + i, Set.of(new Author("Some Author")), 2000));
+        }
+        int bookWeight = weigher.weigh("9780000000000", books.getFirst());
+        int pageWeight = weigher.weigh(BookPageCache.keyFor(PageRequest.of(0, 20)), new PageImpl<>(books, PageRequest.of(0, 20), 100));
+
+        assertThat(bookWeight).isBetween(300, 2_000);
+        assertThat(pageWeight).isBetween(20 * bookWeight - 1_000, 20 * bookWeight + 2_000);
+    }
+
+    @Test
+    void testLongerTitlesWeighMore() {
+        Book shortTitle = new Book("9780000000001", "Dune", Set.of(new Author("Frank Herbert")), 1965);
+        Book longTitle = new Book("9780000000002", "Dune ".repeat(20), Set.of(new Author("Frank Herbert")), 1965);
+
+        assertThat(weigher.weigh("key", longTitle)).isGreaterThan(weigher.weigh("key", shortTitle));
+    }
+}
@@ -0,0 +1,66 @@
+package librarymanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import librarymanagement.model.Customer;
+import librarymanagement.repository.CustomerRepository;
+import librarymanagement.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EntityCacheTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void testRepeatCustomerLookupsHitTheEntityCache() {
+        Customer customer = customerService.addCustomer(customer("Cached", "cached@example.com"));
+        customerService.getCustomerById(customer.getId());
+        double hits = hits("l2-customers");
+
+        customerService.getCustomerById(customer.getId());
+        customerService.getCustomerById(customer.getId());
+
+        assertThat(hits("l2-customers")).isGreaterThanOrEqualTo(hits + 2);
+    }
+
+    @Test
+    void testUpdateCustomerMovesTheEmailNaturalId() {
+        Customer customer = customerService.addCustomer(customer("Moving", "old-address@example.com"));
+        assertThat(customerRepository.findByEmail("old-address@example.com")).isPresent();
+        double hits = hits("l2-customer-emails");
+        assertThat(customerRepository.findByEmail("old-address@example.com")).isPresent();
+        assertThat(hits("l2-customer-emails")).isGreaterThan(hits);
+
+        customerService.updateCustomer(customer.getId(), customer("Moved", "new-address@example.com"));
+
+        assertThat(customerRepository.findByEmail("old-address@example.com")).isEmpty();
+        assertThat(customerRepository.findByEmail("new-address@example.com"))
+                .hasValueSatisfying(found -> assertThat(found.getFirstName()).isEqualTo("Moved"));
+        assertThat(customerService.getCustomerById(customer.getId()).getEmail()).isEqualTo("new-address@example.com");
+    }
+
+    private double hits(String region) {
+        return meterRegistry.get("cache.gets").tag("cache", region).tag("result", "hit").counter().count();
+    }
+
+    private static Customer customer(String firstName, String email) {
+        Customer customer = new Customer();
+        customer.setFirstName(firstName);
+        customer.setLastName("Customer");
+        customer.setEmail(email);
+        return customer;
+    }
+}
@@ -0,0 +1,73 @@
+package librarymanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import librarymanagement.dto.BookCreateRequest;
+import librarymanagement.service.BookService;
+import librarymanagement.service.CopyService;
+import librarymanagement.utils.ControllerTestUtils;
+import librarymanagement.utils.TestISBNGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The replica is an empty database, a replica infinitely far behind: any cached read served from it would fail
+@SpringBootTest(properties = "library.datasource.replicas.urls=jdbc:h2:mem:laggingreplica")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LaggingReplicaTest {
+
+    @Autowired
+    private MockMvcTester mockMvcTester;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CopyService copyService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testCachedReadsLoadFromPrimary() {
+        String isbn = TestISBNGenerator.next();
+        bookService.addBook(new BookCreateRequest(isbn, "Lagging Book", Set.of("Lagging Author"), 2024));
+        double replicaReads = routed("replica");
+
+        assertThat(mockMvcTester.get().uri("/api/books/" + isbn))
+                .hasStatus(HttpStatus.OK)
+                .bodyJson().extractingPath("availableCopies").isEqualTo(0);
+
+        // The write evicts the book, and the anonymous reload must not come from the replica
+        copyService.addCopies(isbn, 2);
+        assertThat(mockMvcTester.get().uri("/api/books/" + isbn))
+                .hasStatus(HttpStatus.OK)
+                .bodyJson().extractingPath("availableCopies").isEqualTo(2);
+        assertThat(mockMvcTester.get().uri("/api/books")).hasStatus(HttpStatus.OK);
+        assertThat(mockMvcTester.get().uri("/api/authors")).hasStatus(HttpStatus.OK);
+
+        assertThat(routed("replica")).isEqualTo(replicaReads);
+    }
+
+    @Test
+    void testNewUsersCanLogInBeforeTheReplicaHasThem() {
+        assertThat(ControllerTestUtils.registerCustomer(mockMvcTester, "laggingReader", "Lagging", "Reader"))
+                .hasStatus(HttpStatus.CREATED);
+        double replicaReads = routed("replica");
+
+        assertThat(ControllerTestUtils.loginCustomer(mockMvcTester, "laggingReader")).hasStatus(HttpStatus.OK);
+        assertThat(routed("replica")).isEqualTo(replicaReads);
+    }
+
+    private double routed(String target) {
+        return meterRegistry.get("datasource_routed_connections").tag("type", "read_only").tag("target", target).counter().count();
+    }
+}
@@ -0,0 +1,82 @@
+package librarymanagement.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import librarymanagement.dto.BookCreateRequest;
+import librarymanagement.model.Copy;
+import librarymanagement.model.Customer;
+import librarymanagement.service.BookService;
+import librarymanagement.service.CopyService;
+import librarymanagement.service.CustomerService;
+import librarymanagement.utils.TestISBNGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvcTester mockMvcTester;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CopyService copyService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void testCopyTransitionsAreTimed() {
+        String isbn = TestISBNGenerator.next();
+        bookService.addBook(new BookCreateRequest(isbn, "Timed Book", Set.of("Timed Author"), 2024));
+        copyService.addCopies(isbn, 1);
+        Customer customer = new Customer();
+        customer.setFirstName("Timed");
+        customer.setLastName("Customer");
+        Long customerId = customerService.addCustomer(customer).getId();
+
+        Copy copy = copyService.reserveAnyAvailableCopy(isbn, customerId);
+        copyService.checkout(copy.getId(), customerId);
+        assertThatThrownBy(() -> copyService.checkout(copy.getId(), customerId)).isInstanceOf(IllegalStateException.class);
+
+        Timer reservations = meterRegistry.get("copy_transitions").tag("transition", "reserve").tag("exception", "none").timer();
+        assertThat(reservations.count()).isPositive();
+        assertThat(meterRegistry.get("copy_transitions").tag("transition", "checkout").tag("exception", "none").timer().count())
+                .isPositive();
+        assertThat(meterRegistry.get("copy_transitions").tag("transition", "checkout").tag("exception", "IllegalStateException")
+                .timer().count()).isPositive();
+    }
+
+    @Test
+    void testSqlStatementsAreCountedPerRequest() {
+        mockMvcTester.get().uri("/api/books/{isbn}", TestISBNGenerator.next())
+                .exchange()
+                .assertThat()
+                .hasStatus(HttpStatus.NOT_FOUND);
+
+        DistributionSummary statements = meterRegistry.get("http_server_requests_sql_statements")
+                .tag("method", "GET")
+                .tag("uri", "/api/books/{isbn}")
+                .summary();
+        assertThat(statements.count()).isPositive();
+        assertThat(statements.totalAmount()).isPositive();
+    }
+}
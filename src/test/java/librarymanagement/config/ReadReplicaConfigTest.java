@@ -0,0 +1,104 @@
+package librarymanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import librarymanagement.model.Customer;
+import librarymanagement.service.CustomerService;
+import librarymanagement.utils.ControllerTestUtils;
+import librarymanagement.utils.DataBuilder;
+import librarymanagement.utils.TestISBNGenerator;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The replica URL names the same in-memory database as the primary, standing in for a replica that is in sync
+@SpringBootTest(properties = "library.datasource.replicas.urls=jdbc:h2:mem:testdb")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadReplicaConfigTest {
+
+    @Autowired
+    private MockMvcTester mockMvcTester;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void testReadOnlyTransactionsUseReplicaUntilUserWrites() {
+        assertThat(entityManagerFactory.getProperties().get(AvailableSettings.CONNECTION_HANDLING))
+                .isEqualTo(PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+
+        double replicaReads = routed("read_only", "replica");
+        assertThat(mockMvcTester.get().uri("/api/books?cursor=").exchange()).hasStatus(HttpStatus.OK);
+        assertThat(routed("read_only", "replica")).isEqualTo(replicaReads + 1);
+
+        assertThat(ControllerTestUtils.registerLibrarian(mockMvcTester, "replicaLibrarian")).hasStatus(HttpStatus.CREATED);
+        MockHttpSession librarianSession = (MockHttpSession) ControllerTestUtils.loginLibrarian(mockMvcTester, "replicaLibrarian")
+                .getRequest().getSession();
+        String isbn = TestISBNGenerator.next();
+        assertThat(DataBuilder.createTestBook(mockMvcTester, librarianSession, isbn, "Replicated Book", "Replica Author"))
+                .hasStatus(HttpStatus.CREATED);
+        assertThat(DataBuilder.createTestCopy(mockMvcTester, librarianSession, isbn, 1)).hasStatus(HttpStatus.CREATED);
+
+        assertThat(ControllerTestUtils.registerCustomer(mockMvcTester, "replicaReader", "Replica", "Reader")).hasStatus(HttpStatus.CREATED);
+        MockHttpSession customerSession = (MockHttpSession) ControllerTestUtils.loginCustomer(mockMvcTester, "replicaReader")
+                .getRequest().getSession();
+
+        replicaReads = routed("read_only", "replica");
+        assertThat(mockMvcTester.get().uri("/api/reservations/mine").session(customerSession).exchange()).hasStatus(HttpStatus.OK);
+        assertThat(routed("read_only", "replica")).isEqualTo(replicaReads + 1);
+
+        assertThat(mockMvcTester.post()
+                .uri("/api/reservations")
+                .session(customerSession)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"bookIsbn\": \"%s\"}".formatted(isbn))
+                .exchange())
+                .hasStatus(HttpStatus.CREATED);
+
+        double primaryReads = routed("read_only", "primary");
+        assertThat(mockMvcTester.get().uri("/api/reservations/mine").session(customerSession).exchange())
+                .hasStatus(HttpStatus.OK)
+                .bodyJson().extractingPath("page.totalElements").isEqualTo(1);
+        assertThat(routed("read_only", "primary")).isEqualTo(primaryReads + 1);
+    }
+
+    @Test
+    void testReplicaLoadsDoNotPopulateTheEntityCache() throws Throwable {
+        Customer customer = new Customer();
+        customer.setFirstName("Replica");
+        customer.setLastName("Loaded");
+        Long id = customerService.addCustomer(customer).getId();
+        Cache entityCache = entityManagerFactory.getCache();
+        entityCache.evict(Customer.class, id);
+
+        double replicaReads = routed("read_only", "replica");
+        customerService.getCustomerById(id);
+        assertThat(routed("read_only", "replica")).isEqualTo(replicaReads + 1);
+        assertThat(entityCache.contains(Customer.class, id)).isFalse();
+
+        ReplicaRoutingDataSource.onPrimary(() -> customerService.getCustomerById(id));
+        assertThat(entityCache.contains(Customer.class, id)).isTrue();
+    }
+
+    private double routed(String type, String target) {
+        return meterRegistry.get("datasource_routed_connections").tag("type", type).tag("target", target).counter().count();
+    }
+}
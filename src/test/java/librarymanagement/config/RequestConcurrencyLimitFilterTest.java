@@ -0,0 +1,91 @@
+package librarymanagement.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import librarymanagement.constants.Messages;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestConcurrencyLimitFilter filter = new RequestConcurrencyLimitFilter(1, 1, Duration.ofMillis(50), meterRegistry);
+
+    @Test
+    void testRejectsRequestsBeyondLimit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> running = occupy(new MockHttpServletRequest(), release);
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), rejected, new MockFilterChain());
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(rejected.getContentAsString()).isEqualTo(Messages.SERVER_BUSY);
+        assertThat(meterRegistry.get("http_requests_rejected").tag("limit", "requests").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), accepted, new MockFilterChain());
+        assertThat(accepted.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(meterRegistry.get("http_requests_permits_available").tag("limit", "requests").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testLoginsAndActuatorDoNotUseRequestPermits() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> running = occupy(new MockHttpServletRequest("POST", "/api/login"), release);
+
+        MockHttpServletResponse rejectedLogin = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/admin/login"), rejectedLogin, new MockFilterChain());
+        assertThat(rejectedLogin.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(meterRegistry.get("http_requests_rejected").tag("limit", "logins").counter().count()).isEqualTo(1);
+
+        MockHttpServletResponse read = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/books"), read, new MockFilterChain());
+        assertThat(read.getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        CountDownLatch releaseRequests = new CountDownLatch(1);
+        CompletableFuture<Void> reading = occupy(new MockHttpServletRequest("GET", "/api/books"), releaseRequests);
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), health, new MockFilterChain());
+        assertThat(health.getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        release.countDown();
+        releaseRequests.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        reading.get(5, TimeUnit.SECONDS);
+    }
+
+    private CompletableFuture<Void> occupy(MockHttpServletRequest request, CountDownLatch release) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        MockFilterChain blockingChain = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(request, new MockHttpServletResponse(), blockingChain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return running;
+    }
+}
@@ -0,0 +1,75 @@
+package librarymanagement.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.interceptor.RetryInterceptorBuilder;
+import org.springframework.retry.support.RetryTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryMetricsListenerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testRetryThatSucceeds() {
+        assertThat(retrying(new Desk(1)).checkout()).isEqualTo("checked out");
+
+        assertThat(meterRegistry.get("method_retries")
+                .tag("method", "Desk.checkout")
+                .tag("exception", "OptimisticLockingFailureException")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("method_retries_exhausted").counter()).isNull();
+    }
+
+    @Test
+    void testRetriesExhausted() {
+        Desk desk = retrying(new Desk(2));
+        assertThatThrownBy(desk::checkout).isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(meterRegistry.get("method_retries").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("method_retries_exhausted")
+                .tag("method", "Desk.checkout")
+                .tag("exception", "OptimisticLockingFailureException")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testNoMetersWithoutRetries() {
+        retrying(new Desk(0)).checkout();
+
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    private Desk retrying(Desk desk) {
+        RetryTemplate retryTemplate = RetryTemplate.builder()
+                .maxAttempts(2)
+                .withListener(new RetryMetricsListener(meterRegistry))
+                .build();
+        ProxyFactory proxyFactory = new ProxyFactory(desk);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(RetryInterceptorBuilder.stateless().retryOperations(retryTemplate).build());
+        return (Desk) proxyFactory.getProxy();
+    }
+
+    static class Desk {
+        private int failures;
+
+        Desk() {
+        }
+
+        Desk(int failures) {
+            this.failures = failures;
+        }
+
+        public String checkout() {
+            if (failures-- > 0) {
+                throw new OptimisticLockingFailureException("Copy was changed by someone else");
+            }
+            return "checked out";
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package librarymanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("test")
+class VirtualThreadConfigTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testServesRequestsOnVirtualThreads() {
+        assertThat(restTemplate.getForEntity("/api/books", String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(meterRegistry.get("http_requests_permits_available").tag("limit", "requests").gauge().value()).isEqualTo(48);
+        assertThat(meterRegistry.get("http_requests_permits_available").tag("limit", "logins").gauge().value()).isEqualTo(16);
+        assertThat(meterRegistry.find("virtual_threads_pinned").counter()).isNotNull();
+    }
+}
@@ -42,6 +42,47 @@ class AdminBookControllerTest {
         assertThat(result).bodyJson().extractingPath("authors[0].name").isEqualTo(BookTestData.TestBook1.AUTHOR_NAME);
     }
 
+    @Test
+    void testImportBooks() {
+        String existingIsbn = TestISBNGenerator.next();
+        String newIsbn = TestISBNGenerator.next();
+        assertThat(DataBuilder.createTestBook(mockMvcTester, existingIsbn, "Old Title", "Import Author"))
+                .hasStatus(HttpStatus.CREATED);
+
+        String ndjson = """
+                {"isbn": "%s", "title": "Imported Book", "publicationYear": 2001, "authorNames": ["Import Author", "New Import Author"]}
+                this is not json
+
+                {"isbn": "%s", "title": "New Title", "publicationYear": 2002, "authorNames": ["Import Author"]}
+                {"isbn": "invalid", "title": "Bad Book", "publicationYear": 2003, "authorNames": []}
+                """.formatted(newIsbn, existingIsbn);
+
+        MvcTestResult result = mockMvcTester.post()
+                .uri("/api/admin/books/import")
+                .contentType("application/x-ndjson")
+                .content(ndjson)
+                .exchange();
+
+        assertThat(result).hasStatus(HttpStatus.OK);
+        assertThat(result).bodyJson().extractingPath("processed").isEqualTo(4);
+        assertThat(result).bodyJson().extractingPath("created").isEqualTo(1);
+        assertThat(result).bodyJson().extractingPath("updated").isEqualTo(1);
+        assertThat(result).bodyJson().extractingPath("failed").isEqualTo(2);
+        assertThat(result).bodyJson().extractingPath("errors[1].line").isEqualTo(5);
+        assertThat(result).bodyJson().extractingPath("errors[1].message").isEqualTo(Messages.BOOK_ISBN_VALIDATION_MESSAGE);
+
+        assertThat(mockMvcTester.get().uri("/api/books/" + existingIsbn))
+                .hasStatus(HttpStatus.OK)
+                .bodyJson()
+                .extractingPath("title")
+                .isEqualTo("New Title");
+        assertThat(mockMvcTester.get().uri("/api/books/" + newIsbn))
+                .hasStatus(HttpStatus.OK)
+                .bodyJson()
+                .extractingPath("authors.length()")
+                .isEqualTo(2);
+    }
+
     @Test
     void testUpdateBook() {
         // Create a book to update
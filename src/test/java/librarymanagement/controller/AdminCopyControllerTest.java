@@ -55,6 +55,56 @@ class AdminCopyControllerTest {
         ).hasStatus(HttpStatus.CREATED);
     }
 
+    @Test
+    void testCreateCopiesInBulk() {
+        String firstIsbn = TestISBNGenerator.next();
+        String secondIsbn = TestISBNGenerator.next();
+        assertThat(DataBuilder.createTestBook(mockMvcTester, firstIsbn, "Bulk Book", "Bulk Author"))
+                .hasStatus(HttpStatus.CREATED);
+        assertThat(DataBuilder.createTestBook(mockMvcTester, secondIsbn, "Other Bulk Book", "Bulk Author"))
+                .hasStatus(HttpStatus.CREATED);
+
+        String requestJson = """
+                {
+                    "copies": [
+                        {"bookIsbn": "%s", "quantity": 100},
+                        {"bookIsbn": "%s", "quantity": 30},
+                        {"bookIsbn": "%s", "quantity": 20}
+                    ]
+                }
+                """.formatted(firstIsbn, secondIsbn, firstIsbn);
+
+        assertThat(mockMvcTester.post()
+                .uri("/api/admin/copies/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestJson))
+                .hasStatus(HttpStatus.CREATED)
+                .bodyJson()
+                .extractingPath("created")
+                .isEqualTo(150);
+
+        assertThat(mockMvcTester.get().uri("/api/books/" + firstIsbn))
+                .hasStatus(HttpStatus.OK)
+                .bodyJson()
+                .extractingPath("availableCopies")
+                .isEqualTo(120);
+    }
+
+    @Test
+    void testCreateCopiesInBulkForMissingBook() {
+        String requestJson = """
+                {
+                    "copies": [{"bookIsbn": "%s", "quantity": 1}]
+                }
+                """.formatted(TestISBNGenerator.next());
+
+        assertThat(mockMvcTester.post()
+                .uri("/api/admin/copies/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestJson))
+                .hasStatus(HttpStatus.NOT_FOUND);
+    }
+
     @ParameterizedTest
     @CsvSource({
             "'9781234567890', 9999999, quantity, " + Messages.COPY_MAXIMUM_QUANTITY_VALIDATION_MESSAGE,
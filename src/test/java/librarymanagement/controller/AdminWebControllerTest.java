@@ -29,6 +29,9 @@ class AdminWebControllerTest {
             "/admin/copies/browse",
             "/admin/customers/browse",
             "/admin/customers/add",
+            "/admin/books/browse?cursor=",
+            "/admin/copies/browse?cursor=",
+            "/admin/customers/browse?cursor=",
     })
     void testPageLoads(String url) {
         mockMvcTester.get().uri(url)
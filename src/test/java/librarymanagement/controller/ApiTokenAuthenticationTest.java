@@ -0,0 +1,86 @@
+package librarymanagement.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import librarymanagement.constants.Messages;
+import librarymanagement.utils.ControllerTestUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+import org.springframework.test.web.servlet.assertj.MvcTestResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "library.security.token.enabled=true",
+        "library.security.token.secrets=0123456789abcdef0123456789abcdef"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class ApiTokenAuthenticationTest {
+
+    @Autowired
+    private MockMvcTester mockMvcTester;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testCustomerLoginIssuesTokenInsteadOfSession() throws Exception {
+        assertThat(ControllerTestUtils.registerCustomer(mockMvcTester, "jane", "Jane", "Mama")).hasStatus(HttpStatus.CREATED);
+
+        MvcTestResult loginResult = ControllerTestUtils.loginCustomer(mockMvcTester, "jane");
+        assertThat(loginResult).hasStatus(HttpStatus.OK);
+        assertThat(loginResult.getRequest().getSession(false)).isNull();
+        String token = objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("accessToken").asText();
+
+        assertThat(mockMvcTester.get()
+                .uri("/api/reservations/mine")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange())
+                .hasStatus(HttpStatus.OK);
+
+        assertThat(mockMvcTester.post()
+                .uri("/api/logout")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange())
+                .hasStatus(HttpStatus.OK);
+
+        MvcTestResult revokedResult = mockMvcTester.get()
+                .uri("/api/reservations/mine")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange();
+        assertThat(revokedResult).hasStatus(HttpStatus.UNAUTHORIZED);
+        assertThat(revokedResult).bodyText().isEqualTo(Messages.SECURITY_TOKEN_INVALID);
+    }
+
+    @Test
+    void testInvalidTokenIsAnonymousOnPublicPaths() {
+        assertThat(mockMvcTester.get()
+                .uri("/api/books")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer expired.or.forged")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange())
+                .hasStatus(HttpStatus.OK);
+
+        MvcTestResult protectedResult = mockMvcTester.get()
+                .uri("/api/reservations/mine")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer expired.or.forged")
+                .exchange();
+        assertThat(protectedResult).hasStatus(HttpStatus.UNAUTHORIZED);
+        assertThat(protectedResult).bodyText().isEqualTo(Messages.SECURITY_TOKEN_INVALID);
+    }
+
+    @Test
+    void testRequestWithoutTokenIsUnauthorized() {
+        assertThat(mockMvcTester.get().uri("/api/reservations/mine").exchange()).hasStatus(HttpStatus.UNAUTHORIZED);
+    }
+}
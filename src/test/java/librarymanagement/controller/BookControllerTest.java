@@ -1,5 +1,8 @@
 package librarymanagement.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import librarymanagement.config.BookPageCache;
 import librarymanagement.constants.Messages;
 import librarymanagement.utils.DataBuilder;
 import librarymanagement.utils.TestISBNGenerator;
@@ -7,12 +10,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.assertj.MockMvcTester;
 import org.springframework.test.web.servlet.assertj.MvcTestResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -23,6 +38,9 @@ class BookControllerTest {
     @Autowired
     private MockMvcTester mockMvcTester;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Test
     @WithMockUser(roles = "LIBRARIAN")
     void testGetBook() {
@@ -79,4 +97,123 @@ class BookControllerTest {
                 .extractingPath("content")
                 .isNotNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAllBooksReportsExactTotal() {
+        assertThat(mockMvcTester.get().uri("/api/books"))
+                .hasStatus(HttpStatus.OK)
+                .hasHeader(PageTotalHeaderAdvice.TOTAL_EXACT_HEADER, "true");
+    }
+
+    @Test
+    @WithMockUser(roles = "LIBRARIAN")
+    void testGetAllBooksWithCursor() throws Exception {
+        List<String> createdIsbns = List.of(TestISBNGenerator.next(), TestISBNGenerator.next(), TestISBNGenerator.next());
+        for (String isbn : createdIsbns) {
+            assertThat(DataBuilder.createTestBook(mockMvcTester, isbn, "Cursor Book", "Cursor Author"))
+                    .hasStatus(HttpStatus.CREATED);
+        }
+
+        // Walk every page until the cursor runs out
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<String> seenIsbns = new ArrayList<>();
+        String cursor = "";
+        do {
+            MvcTestResult result = mockMvcTester.get().uri("/api/books?size=2&cursor=" + cursor).exchange();
+            assertThat(result).hasStatus(HttpStatus.OK);
+
+            JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+            assertThat(page.get("content").size()).isLessThanOrEqualTo(2);
+            page.get("content").forEach(book -> seenIsbns.add(book.get("isbn").asText()));
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        assertThat(seenIsbns).doesNotHaveDuplicates().containsAll(createdIsbns);
+    }
+
+    @Test
+    void testGetAllBooksWithInvalidCursor() {
+        assertThat(mockMvcTester.get().uri("/api/books?cursor=not-a-cursor"))
+                .hasStatus(HttpStatus.BAD_REQUEST)
+                .bodyJson()
+                .extractingPath("error")
+                .isEqualTo(Messages.PAGINATION_INVALID_CURSOR);
+    }
+
+    @Test
+    @WithMockUser(roles = "LIBRARIAN")
+    void testGetBookRevalidatesWithEtag() {
+        String isbn = TestISBNGenerator.next();
+        assertThat(DataBuilder.createTestBook(mockMvcTester, isbn, "Etag Book", "Etag Author"))
+                .hasStatus(HttpStatus.CREATED);
+
+        MvcTestResult first = mockMvcTester.get().uri("/api/books/" + isbn).exchange();
+        assertThat(first).hasStatus(HttpStatus.OK).hasHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"");
+
+        assertThat(mockMvcTester.get().uri("/api/books/" + isbn).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .hasStatus(HttpStatus.NOT_MODIFIED)
+                .hasHeader(HttpHeaders.ETAG, etag);
+
+        assertThat(mockMvcTester.put().uri("/api/admin/books/" + isbn)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"title": "Etag Book Revised", "publicationYear": 2025, "authorNames": ["Etag Author"]}
+                        """))
+                .hasStatus(HttpStatus.OK);
+
+        MvcTestResult changed = mockMvcTester.get().uri("/api/books/" + isbn).header(HttpHeaders.IF_NONE_MATCH, etag).exchange();
+        assertThat(changed)
+                .hasStatus(HttpStatus.OK)
+                .bodyJson()
+                .extractingPath("title")
+                .isEqualTo("Etag Book Revised");
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    @WithMockUser(roles = "LIBRARIAN")
+    void testYearChangeEvictsPagesWithoutTheBook() {
+        String isbn = TestISBNGenerator.next();
+        assertThat(DataBuilder.createTestBook(mockMvcTester, isbn, "Zz Reissued Book", "Reissue Author"))
+                .hasStatus(HttpStatus.CREATED);
+        Pageable firstPage = PageRequest.of(0, 1, Sort.by("publicationYear"));
+        assertThat(mockMvcTester.get().uri("/api/books?sort=publicationYear&size=1")).hasStatus(HttpStatus.OK);
+        assertThat(cacheManager.getCache("book-pages").get(BookPageCache.keyFor(firstPage))).isNotNull();
+
+        assertThat(mockMvcTester.put().uri("/api/admin/books/" + isbn)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"title": "Zz Reissued Book", "publicationYear": 1, "authorNames": ["Reissue Author"]}
+                        """))
+                .hasStatus(HttpStatus.OK);
+
+        // The page does not contain the book, but a page sorted by year may now
+        assertThat(cacheManager.getCache("book-pages").get(BookPageCache.keyFor(firstPage))).isNull();
+    }
+
+    @Test
+    @WithMockUser(roles = "LIBRARIAN")
+    void testGetAllBooksGzipped() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            assertThat(DataBuilder.createTestBook(mockMvcTester, TestISBNGenerator.next(), "Gzip Book", "Gzip Author"))
+                    .hasStatus(HttpStatus.CREATED);
+        }
+
+        MvcTestResult plain = mockMvcTester.get().uri("/api/books?size=50").exchange();
+        MvcTestResult gzipped = mockMvcTester.get().uri("/api/books?size=50")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate").exchange();
+
+        assertThat(gzipped).hasStatus(HttpStatus.OK).hasHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        assertThat(gzipped.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(plain.getResponse().getHeader(HttpHeaders.ETAG));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.getResponse().getContentAsByteArray());
+        }
+
+        // Either tag names the same content
+        assertThat(mockMvcTester.get().uri("/api/books?size=50")
+                .header(HttpHeaders.IF_NONE_MATCH, plain.getResponse().getHeader(HttpHeaders.ETAG)))
+                .hasStatus(HttpStatus.NOT_MODIFIED);
+    }
+}
@@ -317,4 +317,83 @@ class DeskControllerTest {
                 .extractingPath("status")
                 .isEqualTo("LOST");
     }
+
+    /**
+     * 1. Register and login the librarian.
+     * 2. Create a book and three copies of it.
+     * 3. Register the customer.
+     * 4. Librarian sends one batch with two checkouts, a failing return, a mark-lost and an unknown copy.
+     */
+    @Test
+    void testBatch() throws Exception {
+        // Register and login the librarian
+        MvcTestResult librarianRegistrationResult = ControllerTestUtils.registerLibrarian(mockMvcTester, "librarian5");
+        assertThat(librarianRegistrationResult).hasStatus(HttpStatus.CREATED);
+
+        MvcTestResult librarianLoginResult = ControllerTestUtils.loginLibrarian(mockMvcTester, "librarian5");
+        assertThat(librarianLoginResult).hasStatus(HttpStatus.FOUND);
+
+        MockHttpSession librarianSession = (MockHttpSession) librarianLoginResult.getRequest().getSession();
+        assertThat(librarianSession).isNotNull();
+
+        // Create book and copies
+        String isbn = TestISBNGenerator.next();
+        MvcTestResult bookCreationResult = DataBuilder.createTestBook(mockMvcTester, librarianSession, isbn, "Batch Book", "Batch Author");
+        assertThat(bookCreationResult).hasStatus(HttpStatus.CREATED);
+
+        int[] copyIds = new int[3];
+        for (int i = 0; i < copyIds.length; i++) {
+            MvcTestResult copyCreationResult = DataBuilder.createTestCopy(mockMvcTester, librarianSession, isbn, 1);
+            assertThat(copyCreationResult).hasStatus(HttpStatus.CREATED);
+            copyIds[i] = ControllerTestUtils.extractIdFromResponseArray(copyCreationResult);
+        }
+
+        // Register customer
+        MvcTestResult customerRegistrationResult = ControllerTestUtils.registerCustomer(mockMvcTester, "batch joe", "Joe", "Batch");
+        assertThat(customerRegistrationResult).hasStatus(HttpStatus.CREATED);
+
+        int customerId = ControllerTestUtils.extractCustomerIdFromRegistration(customerRegistrationResult);
+
+        // Apply the batch
+        String batchJson = """
+                {
+                    "operations": [
+                        {"action": "CHECKOUT", "copyId": %1$d, "customerId": %4$d},
+                        {"action": "CHECKOUT", "copyId": %2$d, "customerId": %4$d},
+                        {"action": "RETURN", "copyId": %3$d, "customerId": %4$d},
+                        {"action": "MARK_LOST", "copyId": %3$d},
+                        {"action": "CHECKOUT", "copyId": 999999, "customerId": %4$d}
+                    ]
+                }
+                """.formatted(copyIds[0], copyIds[1], copyIds[2], customerId);
+
+        MvcTestResult batchResult = mockMvcTester.post()
+                .uri("/api/desk/batch")
+                .session(librarianSession)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batchJson)
+                .exchange();
+
+        assertThat(batchResult).hasStatus(HttpStatus.OK);
+        assertThat(batchResult).bodyJson().extractingPath("succeeded").asNumber().isEqualTo(3);
+        assertThat(batchResult).bodyJson().extractingPath("failed").asNumber().isEqualTo(2);
+        assertThat(batchResult).bodyJson().extractingPath("availableCopiesByIsbn.['%s']".formatted(isbn)).asNumber().isEqualTo(0);
+        assertThat(batchResult).bodyJson().extractingPath("results[1].status").isEqualTo("BORROWED");
+        assertThat(batchResult).bodyJson().extractingPath("results[2].succeeded").isEqualTo(false);
+        assertThat(batchResult).bodyJson().extractingPath("results[3].status").isEqualTo("LOST");
+
+        // An empty batch is rejected
+        MvcTestResult emptyBatchResult = mockMvcTester.post()
+                .uri("/api/desk/batch")
+                .session(librarianSession)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "operations": []
+                        }
+                        """)
+                .exchange();
+
+        assertThat(emptyBatchResult).hasStatus(HttpStatus.BAD_REQUEST);
+    }
 }
\ No newline at end of file
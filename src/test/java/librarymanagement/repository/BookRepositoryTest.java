@@ -1,12 +1,14 @@
 package librarymanagement.repository;
 
+import librarymanagement.dto.AvailabilityDrift;
 import librarymanagement.model.Author;
 import librarymanagement.model.Book;
+import librarymanagement.model.Copy;
+import librarymanagement.model.CopyStatus;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
@@ -27,8 +29,8 @@ class BookRepositoryTest {
 
     @Test
     void testFindAllBooks() {
-        Page<String> isbns = bookRepository.findAllIsbns(PageRequest.of(0, 10));
-        List<Book> books = bookRepository.findByIsbnsWithAuthors(isbns.getContent());
+        List<String> isbns = bookRepository.findAllIsbns(PageRequest.of(0, 10));
+        List<Book> books = bookRepository.findByIsbnsWithAuthors(isbns);
         assertThat(books).isEmpty();
 
         Author author = new Author("The Goober");
@@ -38,7 +40,7 @@ class BookRepositoryTest {
         testEntityManager.persistAndFlush(book);
 
         isbns = bookRepository.findAllIsbns(PageRequest.of(0, 10));
-        books = bookRepository.findByIsbnsWithAuthors(isbns.getContent());
+        books = bookRepository.findByIsbnsWithAuthors(isbns);
         assertThat(books).hasSize(1).extracting(Book::getTitle).containsExactly("This is a title");
     }
 
@@ -54,10 +56,71 @@ class BookRepositoryTest {
         testEntityManager.persistAndFlush(book);
 
         // Search book by title
-        Page<String> isbns = bookRepository.findIsbnsByTitleContaining("Goober", Pageable.ofSize(5));
-        List<Book> foundBooks = bookRepository.findByIsbnsWithAuthors(isbns.getContent());
+        List<String> isbns = bookRepository.searchIsbns("Goober", Pageable.ofSize(5));
+        List<Book> foundBooks = bookRepository.findByIsbnsWithAuthors(isbns);
 
         assertThat(foundBooks).hasSize(1);
         assertThat(foundBooks.getFirst().getTitle()).isEqualTo("The Goober Lore");
+        assertThat(bookRepository.countSearchMatches("goober")).isEqualTo(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSearchRanksTitlePrefixBeforeAuthorMatches() {
+        Author tolkien = new Author("J.R.R. Tolkien");
+        Author other = new Author("Someone Else");
+        testEntityManager.persist(tolkien);
+        testEntityManager.persist(other);
+        testEntityManager.persist(new Book("5550001111", "About Tolkien", Set.of(other), 2001));
+        testEntityManager.persist(new Book("5550002222", "The Hobbit", Set.of(tolkien), 1937));
+        testEntityManager.persist(new Book("5550003333", "Tolkien Letters", Set.of(other), 1981));
+        testEntityManager.flush();
+
+        assertThat(bookRepository.searchIsbns("tolkien", Pageable.ofSize(10)))
+                .containsExactly("5550003333", "5550001111", "5550002222");
+        // Tokens may match different fields
+        assertThat(bookRepository.searchIsbns("hobbit tolkien", Pageable.ofSize(10)))
+                .containsExactly("5550002222");
+        assertThat(bookRepository.countSearchMatches("tolkien")).isEqualTo(3);
+    }
+
+    @Test
+    void testAdjustAvailableCopies() {
+        Author author = new Author("The Counter");
+        testEntityManager.persistAndFlush(author);
+
+        Book book = new Book("1112223335", "Counting Copies", Set.of(author), 2025);
+        testEntityManager.persistAndFlush(book);
+
+        assertThat(bookRepository.adjustAvailableCopies("1112223335", 2)).isEqualTo(1);
+        assertThat(bookRepository.adjustAvailableCopies("1112223335", -1)).isEqualTo(1);
+        assertThat(bookRepository.findAvailableCopiesByIsbn("1112223335")).contains(1);
+
+        // Guard rejects going below zero and leaves the counter untouched
+        assertThat(bookRepository.adjustAvailableCopies("1112223335", -2)).isZero();
+        assertThat(bookRepository.findAvailableCopiesByIsbn("1112223335")).contains(1);
+    }
+
+    @Test
+    void testReconcileAvailabilityDrift() {
+        Author author = new Author("The Drifter");
+        testEntityManager.persistAndFlush(author);
+
+        Book book = new Book("1112223336", "Drifting Copies", Set.of(author), 2025);
+        testEntityManager.persistAndFlush(book);
+
+        for (CopyStatus status : List.of(CopyStatus.AVAILABLE, CopyStatus.AVAILABLE, CopyStatus.BORROWED)) {
+            Copy copy = new Copy();
+            copy.setBook(book);
+            copy.setStatus(status);
+            testEntityManager.persistAndFlush(copy);
+        }
+
+        List<AvailabilityDrift> drifts = bookRepository.findAvailabilityDrift(CopyStatus.AVAILABLE);
+        assertThat(drifts).containsExactly(new AvailabilityDrift("1112223336", 0, 2L));
+
+        bookRepository.recountAvailableCopies("1112223336", CopyStatus.AVAILABLE);
+
+        assertThat(bookRepository.findAvailableCopiesByIsbn("1112223336")).contains(2);
+        assertThat(bookRepository.findAvailabilityDrift(CopyStatus.AVAILABLE)).isEmpty();
+    }
+}
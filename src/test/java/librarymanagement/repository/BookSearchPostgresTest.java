@@ -0,0 +1,74 @@
+package librarymanagement.repository;
+
+import librarymanagement.dto.BookCreateRequest;
+import librarymanagement.service.BookService;
+import librarymanagement.utils.TestISBNGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The trigram matching and schema.sql only run on PostgreSQL, so this needs a throwaway database:
+// mvn test -Dtest=BookSearchPostgresTest -Dpostgres.url=jdbc:postgresql://localhost:5432/scratch -Dpostgres.username=... -Dpostgres.password=...
+@SpringBootTest(properties = {
+        "spring.datasource.url=${postgres.url}",
+        "spring.datasource.username=${postgres.username:postgres}",
+        "spring.datasource.password=${postgres.password:}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.sql.init.mode=always"})
+@EnabledIfSystemProperty(named = "postgres.url", matches = ".+")
+@ActiveProfiles("test")
+class BookSearchPostgresTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testSearchToleratesTyposAndRanksTitlePrefixesFirst() {
+        String prefixed = TestISBNGenerator.next();
+        String contained = TestISBNGenerator.next();
+        bookService.addBook(new BookCreateRequest(contained, "The Lighthouse Keeper", Set.of("Moira Fenwick"), 2021));
+        bookService.addBook(new BookCreateRequest(prefixed, "Lighthouse Stories", Set.of("Tobias Renner"), 2019));
+
+        assertThat(bookRepository.searchIsbns("lighthouse", Pageable.ofSize(10))).containsExactly(prefixed, contained);
+        assertThat(bookRepository.searchIsbns("lighthose keeper", Pageable.ofSize(10))).containsExactly(contained);
+        assertThat(bookRepository.searchIsbns("fenwik", Pageable.ofSize(10))).containsExactly(contained);
+        assertThat(bookRepository.countSearchMatches("lighthose")).isEqualTo(2);
+    }
+
+    @Test
+    void testSchemaScriptBackfillsSearchTextAndCanRunAgain() {
+        String isbn = TestISBNGenerator.next();
+        bookService.addBook(new BookCreateRequest(isbn, "Orchard Almanac", Set.of("Hester Quill"), 2018));
+        jdbcTemplate.update("UPDATE books SET search_text = NULL WHERE isbn = ?", isbn);
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT search_text FROM books WHERE isbn = ?", String.class, isbn))
+                .isEqualTo("orchard almanac hester quill");
+        assertThat(bookRepository.searchIsbns("almanack", Pageable.ofSize(10))).containsExactly(isbn);
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT character_maximum_length FROM information_schema.columns
+                WHERE table_schema = current_schema() AND table_name = 'users' AND column_name = 'password'""", Integer.class))
+                .isEqualTo(255);
+    }
+}
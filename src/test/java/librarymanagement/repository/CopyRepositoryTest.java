@@ -0,0 +1,79 @@
+package librarymanagement.repository;
+
+import librarymanagement.dto.CopyListItem;
+import librarymanagement.model.Author;
+import librarymanagement.model.Book;
+import librarymanagement.model.Copy;
+import librarymanagement.model.CopyStatus;
+import librarymanagement.model.Customer;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class CopyRepositoryTest {
+    @Autowired
+    private CopyRepository copyRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Test
+    void testFindListItemsByIds() {
+        Author first = testEntityManager.persistAndFlush(new Author("Zed Writer"));
+        Author second = testEntityManager.persistAndFlush(new Author("Ann Writer"));
+        Book book = testEntityManager.persistAndFlush(new Book("1112223335", "Two Author Book", Set.of(first, second), 2025));
+
+        Customer customer = new Customer();
+        customer.setFirstName("Joe");
+        customer.setLastName("Reader");
+        testEntityManager.persistAndFlush(customer);
+
+        Copy borrowed = copy(book, CopyStatus.BORROWED, customer);
+        Copy available = copy(book, CopyStatus.AVAILABLE, null);
+        testEntityManager.clear();
+
+        List<CopyListItem> items = copyRepository.findListItemsByIds(List.of(available.getId(), borrowed.getId()));
+
+        // One row per copy, however many authors the book has
+        assertThat(items).hasSize(2);
+        assertThat(items.getFirst()).isEqualTo(new CopyListItem(borrowed.getId(), CopyStatus.BORROWED, "1112223335",
+                "Two Author Book", "Ann Writer, Zed Writer", customer.getId(), "Joe Reader"));
+        assertThat(items.getLast()).isEqualTo(new CopyListItem(available.getId(), CopyStatus.AVAILABLE, "1112223335",
+                "Two Author Book", "Ann Writer, Zed Writer", null, null));
+    }
+
+    @Test
+    void testInsertAvailableCopiesKeepsPersistenceContextSmall() {
+        Book first = testEntityManager.persistAndFlush(new Book("1112223336", "First Bulk Book", Set.of(), 2025));
+        Book second = testEntityManager.persistAndFlush(new Book("1112223337", "Second Bulk Book", Set.of(), 2025));
+        Map<String, Integer> quantityByIsbn = new LinkedHashMap<>();
+        quantityByIsbn.put(first.getIsbn(), 120);
+        quantityByIsbn.put(second.getIsbn(), 3);
+
+        assertThat(copyRepository.insertAvailableCopies(quantityByIsbn)).isEqualTo(123);
+
+        assertThat(testEntityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        assertThat(copyRepository.countByBookIsbn(first.getIsbn())).isEqualTo(120);
+        assertThat(copyRepository.countByBookIsbn(second.getIsbn())).isEqualTo(3);
+    }
+
+    private Copy copy(Book book, CopyStatus status, Customer customer) {
+        Copy copy = new Copy();
+        copy.setBook(book);
+        copy.setStatus(status);
+        copy.setCustomer(customer);
+        return testEntityManager.persistAndFlush(copy);
+    }
+}
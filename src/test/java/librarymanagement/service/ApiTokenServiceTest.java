@@ -0,0 +1,69 @@
+package librarymanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import librarymanagement.model.Role;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApiTokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final String OTHER_SECRET = "fedcba9876543210fedcba9876543210";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final LibraryUserDetails user = new LibraryUserDetails(7L, "jane", "hash", Role.ROLE_CUSTOMER, 42L);
+
+    @Test
+    void testIssuedTokenAuthenticatesWithoutPassword() {
+        ApiTokenService tokenService = tokenService(Duration.ofMinutes(5), SECRET);
+
+        LibraryUserDetails principal = tokenService.authenticate(tokenService.issue(user).value()).orElseThrow();
+
+        assertThat(principal.getUsername()).isEqualTo("jane");
+        assertThat(principal.getUserId()).isEqualTo(7L);
+        assertThat(principal.getCustomerId()).isEqualTo(42L);
+        assertThat(principal.getRole()).isEqualTo(Role.ROLE_CUSTOMER);
+        assertThat(principal.getPassword()).isNull();
+    }
+
+    @Test
+    void testRejectsTamperedForeignExpiredAndRevokedTokens() {
+        ApiTokenService tokenService = tokenService(Duration.ofMinutes(5), SECRET);
+        String token = tokenService.issue(user).value();
+        String[] parts = token.split("\\.");
+        String forgedClaims = tokenService(Duration.ofMinutes(5), SECRET)
+                .issue(new LibraryUserDetails(8L, "joe", null, Role.ROLE_LIBRARIAN, null)).value().split("\\.")[1];
+
+        assertThat(tokenService.authenticate(parts[0] + "." + forgedClaims + "." + parts[2])).isEmpty();
+        assertThat(tokenService.authenticate("not-a-token")).isEmpty();
+        assertThat(tokenService.authenticate(tokenService(Duration.ofMinutes(5), OTHER_SECRET).issue(user).value())).isEmpty();
+        assertThat(tokenService.authenticate(tokenService(Duration.ZERO, SECRET).issue(user).value())).isEmpty();
+
+        tokenService.revoke(token);
+        assertThat(tokenService.authenticate(token)).isEmpty();
+    }
+
+    @Test
+    void testVerifiesTokensSignedWithRotatedOutKey() {
+        String oldToken = tokenService(Duration.ofMinutes(5), SECRET).issue(user).value();
+        ApiTokenService rotated = new ApiTokenService(true, Duration.ofMinutes(5), List.of(OTHER_SECRET, SECRET), objectMapper);
+
+        assertThat(rotated.authenticate(oldToken)).isPresent();
+    }
+
+    @Test
+    void testRequiresLongSecretsWhenEnabled() {
+        assertThatThrownBy(() -> new ApiTokenService(true, Duration.ofMinutes(5), List.of("short"), objectMapper))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(new ApiTokenService(false, Duration.ofMinutes(5), List.of(), objectMapper).isEnabled()).isFalse();
+    }
+
+    private ApiTokenService tokenService(Duration ttl, String secret) {
+        return new ApiTokenService(true, ttl, List.of(secret), objectMapper);
+    }
+}
@@ -0,0 +1,65 @@
+package librarymanagement.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import librarymanagement.model.Author;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AuthorResolver.class)
+class AuthorResolverTest {
+
+    @Autowired
+    private AuthorResolver authorResolver;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testResolveUsesOneInsertAndOneLookup() {
+        testEntityManager.persistAndFlush(new Author("Existing Author"));
+        List<String> names = List.of("Existing Author", "New Author 1", "New Author 2", "New Author 3");
+
+        statistics.clear();
+        Map<String, Author> authors = authorResolver.resolve(names);
+
+        assertThat(authors).containsOnlyKeys(names);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testResolveSkipsInsertForKnownNames() {
+        List<String> names = List.of("Known Author 1", "Known Author 2");
+        authorResolver.resolve(names);
+        testEntityManager.clear();
+
+        statistics.clear();
+        Map<String, Author> authors = authorResolver.resolve(names);
+
+        assertThat(authors).containsOnlyKeys(names);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
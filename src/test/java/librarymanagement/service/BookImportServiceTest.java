@@ -0,0 +1,52 @@
+package librarymanagement.service;
+
+import librarymanagement.constants.Messages;
+import librarymanagement.dto.BookImportReport;
+import librarymanagement.repository.BookRepository;
+import librarymanagement.utils.TestISBNGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookImportServiceTest {
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    void testFailingRowDoesNotFailItsBatch() throws Exception {
+        String firstIsbn = TestISBNGenerator.next();
+        String badIsbn = TestISBNGenerator.next();
+        String lastIsbn = TestISBNGenerator.next();
+        // Passes validation but is longer than the title column
+        String ndjson = """
+                {"isbn": "%s", "title": "First Book", "publicationYear": 2001, "authorNames": ["Batch Author"]}
+                {"isbn": "%s", "title": "%s", "publicationYear": 2002, "authorNames": ["Batch Author"]}
+                {"isbn": "%s", "title": "Last Book", "publicationYear": 2003, "authorNames": ["Batch Author"]}
+                """.formatted(firstIsbn, badIsbn, "Long".repeat(50), lastIsbn);
+
+        BookImportReport report = bookImportService.importBooks(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.created()).isEqualTo(2);
+        assertThat(report.failed()).isEqualTo(1);
+        assertThat(report.errors()).singleElement().satisfies(error -> {
+            assertThat(error.line()).isEqualTo(2);
+            assertThat(error.isbn()).isEqualTo(badIsbn);
+            assertThat(error.message()).startsWith(Messages.BOOK_IMPORT_SAVE_FAILED);
+        });
+        assertThat(bookRepository.existsByIsbn(firstIsbn)).isTrue();
+        assertThat(bookRepository.existsByIsbn(lastIsbn)).isTrue();
+        assertThat(bookRepository.existsByIsbn(badIsbn)).isFalse();
+    }
+}
@@ -0,0 +1,124 @@
+package librarymanagement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import librarymanagement.model.Author;
+import librarymanagement.model.Book;
+import librarymanagement.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testSearchFallsBackUntilWarm() {
+        CatalogSearchIndex index = warmIndex(List.of(book("1111111111", "The Hobbit", "J.R.R. Tolkien")));
+
+        assertThat(new CatalogSearchIndex(bookRepository, meterRegistry, true).search("hobbit", Pageable.ofSize(10))).isEmpty();
+        assertThat(index.search("hobbit", Pageable.ofSize(10)))
+                .hasValueSatisfying(hits -> assertThat(hits.isbns()).containsExactly("1111111111"));
+    }
+
+    @Test
+    void testSearchMatchesPrefixesAcrossTitleAndAuthors() {
+        CatalogSearchIndex index = warmIndex(List.of(
+                book("1111111111", "The Hobbit", "J.R.R. Tolkien"),
+                book("2222222222", "Tolkien Letters", "Humphrey Carpenter"),
+                book("3333333333", "Dune", "Frank Herbert")));
+
+        CatalogSearchIndex.SearchHits hits = index.search("tolk", Pageable.ofSize(10)).orElseThrow();
+        assertThat(hits.isbns()).containsExactly("2222222222", "1111111111");
+        assertThat(hits.total()).isEqualTo(2);
+
+        assertThat(index.search("hob tolkien", Pageable.ofSize(10)).orElseThrow().isbns()).containsExactly("1111111111");
+        assertThat(index.search("tolk", PageRequest.of(1, 1)).orElseThrow().isbns()).containsExactly("1111111111");
+    }
+
+    @Test
+    void testPagesThroughRankedMatches() {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            books.add(book(String.format("%010d", i), "Saga volume " + (char) ('z' - i % 26) + i, "Anon"));
+        }
+        CatalogSearchIndex index = warmIndex(books);
+
+        List<String> expected = books.stream()
+                .sorted(Comparator.comparing((Book book) -> book.getTitle().toLowerCase()).thenComparing(Book::getIsbn))
+                .map(Book::getIsbn)
+                .toList();
+        List<String> paged = new ArrayList<>();
+        for (int page = 0; page < 6; page++) {
+            CatalogSearchIndex.SearchHits hits = index.search("saga", PageRequest.of(page, 9)).orElseThrow();
+            assertThat(hits.total()).isEqualTo(50);
+            paged.addAll(hits.isbns());
+        }
+        assertThat(paged).isEqualTo(expected);
+        assertThat(index.search("saga", PageRequest.of(6, 9)).orElseThrow().isbns()).isEmpty();
+    }
+
+    @Test
+    void testIncrementalUpdates() {
+        CatalogSearchIndex index = warmIndex(List.of(book("1111111111", "The Hobbit", "J.R.R. Tolkien")));
+
+        index.index(book("1111111111", "There and Back Again", "J.R.R. Tolkien"));
+        index.index(book("4444444444", "Hobbit Recipes", "Some Cook"));
+        assertThat(index.search("hobbit", Pageable.ofSize(10)).orElseThrow().isbns()).containsExactly("4444444444");
+
+        double bytesWithRecipes = meterRegistry.get("catalog_search_index_bytes").gauge().value();
+        index.remove("4444444444");
+        assertThat(index.search("hobbit", Pageable.ofSize(10)).orElseThrow().total()).isZero();
+        assertThat(meterRegistry.get("catalog_search_index_bytes").gauge().value()).isLessThan(bytesWithRecipes);
+        assertThat(meterRegistry.get("catalog_search_index_books").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("catalog_search_index_bytes").gauge().value()).isPositive();
+    }
+
+    @Test
+    void testWritesAreIgnoredWhenDisabledOrWarmupFailed() {
+        CatalogSearchIndex disabled = new CatalogSearchIndex(bookRepository, meterRegistry, false);
+        disabled.index(book("1111111111", "The Hobbit", "J.R.R. Tolkien"));
+        assertThat(meterRegistry.get("catalog_search_index_books").gauge().value()).isZero();
+
+        SimpleMeterRegistry failedRegistry = new SimpleMeterRegistry();
+        when(bookRepository.findFirstIsbns(any())).thenReturn(List.of("1111111111", "2222222222"));
+        when(bookRepository.findByIsbnsWithAuthors(any())).thenThrow(new QueryTimeoutException("timeout"));
+        CatalogSearchIndex failed = new CatalogSearchIndex(bookRepository, failedRegistry, true);
+        failed.index(book("3333333333", "Dune", "Frank Herbert"));
+        failed.warmUp();
+        failed.index(book("4444444444", "Emma", "Jane Austen"));
+
+        assertThat(failed.search("dune", Pageable.ofSize(10))).isEmpty();
+        assertThat(failedRegistry.get("catalog_search_index_books").gauge().value()).isZero();
+        assertThat(failedRegistry.get("catalog_search_index_bytes").gauge().value()).isZero();
+    }
+
+    private CatalogSearchIndex warmIndex(List<Book> books) {
+        when(bookRepository.findFirstIsbns(any())).thenReturn(books.stream().map(Book::getIsbn).toList());
+        when(bookRepository.findByIsbnsWithAuthors(any())).thenReturn(books);
+        CatalogSearchIndex index = new CatalogSearchIndex(bookRepository, meterRegistry, true);
+        index.warmUp();
+        return index;
+    }
+
+    private static Book book(String isbn, String title, String author) {
+        return new Book(isbn, title, Set.of(new Author(author)), 2000);
+    }
+}
@@ -0,0 +1,86 @@
+package librarymanagement.service;
+
+import librarymanagement.dto.BookCreateRequest;
+import librarymanagement.exception.ResourceNotFoundException;
+import librarymanagement.model.Copy;
+import librarymanagement.model.Customer;
+import librarymanagement.repository.BookRepository;
+import librarymanagement.utils.TestISBNGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CopyServiceConcurrencyTest {
+
+    private static final int COPIES = 10;
+    private static final int CUSTOMERS = 30;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CopyService copyService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    void testConcurrentReservationsClaimDistinctCopies() throws Exception {
+        String isbn = TestISBNGenerator.next();
+        bookService.addBook(new BookCreateRequest(isbn, "Hot Book", Set.of("Hot Author"), 2024));
+        copyService.addCopies(isbn, COPIES);
+
+        List<Long> customerIds = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Customer customer = new Customer();
+            customer.setFirstName("Racer");
+            customer.setLastName("Number " + i);
+            customerIds.add(customerService.addCustomer(customer).getId());
+        }
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CUSTOMERS)) {
+            for (Long customerId : customerIds) {
+                results.add(executor.submit(() -> {
+                    startLatch.await();
+                    try {
+                        Copy copy = copyService.reserveAnyAvailableCopy(isbn, customerId);
+                        return copy.getId();
+                    } catch (ResourceNotFoundException e) {
+                        return null;
+                    }
+                }));
+            }
+            startLatch.countDown();
+        }
+
+        List<Long> reservedCopyIds = new ArrayList<>();
+        for (Future<Long> result : results) {
+            Long copyId = result.get();
+            if (copyId != null) {
+                reservedCopyIds.add(copyId);
+            }
+        }
+
+        // Every copy is reserved exactly once and the losers are told nothing is left
+        assertThat(reservedCopyIds).hasSize(COPIES).doesNotHaveDuplicates();
+        assertThat(bookRepository.findAvailableCopiesByIsbn(isbn)).contains(0);
+    }
+}
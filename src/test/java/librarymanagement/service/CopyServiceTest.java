@@ -0,0 +1,44 @@
+package librarymanagement.service;
+
+import librarymanagement.dto.BookCreateRequest;
+import librarymanagement.model.Book;
+import librarymanagement.utils.TestISBNGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CopyServiceTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CopyService copyService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testRolledBackCopiesLeaveTheCachedBookAlone() {
+        String isbn = TestISBNGenerator.next();
+        bookService.addBook(new BookCreateRequest(isbn, "Cached Book", Set.of("Cached Author"), 2024));
+        Book cached = bookService.getBookByIsbn(isbn);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            copyService.addCopies(isbn, 3);
+            assertThat(bookService.getBookByIsbn(isbn).getAvailableCopies()).isZero();
+            status.setRollbackOnly();
+        });
+
+        assertThat(cached.getAvailableCopies()).isZero();
+        assertThat(bookService.getBookByIsbn(isbn).getAvailableCopies()).isZero();
+    }
+}
@@ -1,6 +1,7 @@
 package librarymanagement.service;
 
 import librarymanagement.constants.Messages;
+import librarymanagement.model.Customer;
 import librarymanagement.model.Role;
 import librarymanagement.model.User;
 import librarymanagement.repository.UserRepository;
@@ -16,6 +17,8 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +46,51 @@ class CustomUserDetailsServiceTest {
         assertThat(result.getAuthorities().size()).isEqualTo(1);
     }
 
+    @Test
+    void testLoadUserByUsernameIsCachedUntilEvicted() {
+        Customer customer = new Customer();
+        customer.setId(42L);
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("Jane");
+        user.setPassword("jane123");
+        user.setRole(Role.ROLE_CUSTOMER);
+        user.setCustomer(customer);
+
+        when(userRepository.findByUsername("Jane")).thenReturn(Optional.of(user));
+
+        LibraryUserDetails first = userDetailsService.loadUserByUsername("Jane");
+        first.eraseCredentials();
+        LibraryUserDetails second = userDetailsService.loadUserByUsername("Jane");
+
+        assertThat(second.getCustomerId()).isEqualTo(42L);
+        assertThat(second.getUserId()).isEqualTo(7L);
+        assertThat(second.getPassword()).isEqualTo("jane123");
+        verify(userRepository, times(1)).findByUsername("Jane");
+
+        userDetailsService.evictUser("Jane");
+        userDetailsService.loadUserByUsername("Jane");
+        verify(userRepository, times(2)).findByUsername("Jane");
+    }
+
+    @Test
+    void testUpdatePasswordStoresNewHashAndEvicts() {
+        User user = new User();
+        user.setUsername("Joe");
+        user.setPassword("old-hash");
+        user.setRole(Role.ROLE_LIBRARIAN);
+
+        when(userRepository.findByUsername("Joe")).thenReturn(Optional.of(user));
+
+        LibraryUserDetails loaded = userDetailsService.loadUserByUsername("Joe");
+        LibraryUserDetails updated = userDetailsService.updatePassword(loaded, "{bcrypt}new-hash");
+
+        assertThat(updated.getPassword()).isEqualTo("{bcrypt}new-hash");
+        verify(userRepository).save(user);
+        assertThat(userDetailsService.loadUserByUsername("Joe").getPassword()).isEqualTo("{bcrypt}new-hash");
+        verify(userRepository, times(3)).findByUsername("Joe");
+    }
+
     @Test
     void testLoadNonexistentUserByUsername() {
         when(userRepository.findByUsername("Goober")).thenReturn(Optional.empty());
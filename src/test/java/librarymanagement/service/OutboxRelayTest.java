@@ -0,0 +1,163 @@
+package librarymanagement.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import librarymanagement.dto.BookCreateRequest;
+import librarymanagement.model.Copy;
+import librarymanagement.model.Customer;
+import librarymanagement.model.OutboxEvent;
+import librarymanagement.model.OutboxEventType;
+import librarymanagement.repository.OutboxEventRepository;
+import librarymanagement.utils.TestISBNGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxRelayTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CopyService copyService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RecordingSubscriber recordingSubscriber;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TestConfiguration
+    static class SubscriberConfig {
+
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+
+    static class RecordingSubscriber implements OutboxSubscriber {
+        private final List<OutboxEvent> events = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean failing = new AtomicBoolean();
+
+        @Override
+        public void onEvent(OutboxEvent event) {
+            if (failing.get()) {
+                throw new IllegalStateException("Subscriber down");
+            }
+            events.add(event);
+        }
+    }
+
+    @Test
+    void testCopyChangesAreRelayedAfterCommit() {
+        String isbn = TestISBNGenerator.next();
+        bookService.addBook(new BookCreateRequest(isbn, "Outbox Book", Set.of("Outbox Author"), 2024));
+        Copy copy = copyService.addCopies(isbn, 1).getFirst();
+        Long customerId = customerService.addCustomer(customer()).getId();
+
+        copyService.checkout(copy.getId(), customerId);
+        copyService.returnCopy(copy.getId(), customerId);
+        assertThat(outboxEventRepository.findAll())
+                .filteredOn(event -> isbn.equals(event.getIsbn()))
+                .extracting(OutboxEvent::getType)
+                .containsExactly(OutboxEventType.BOOK_CREATED, OutboxEventType.COPY_CHECKED_OUT, OutboxEventType.COPY_RETURNED);
+
+        outboxRelay.relayPending();
+
+        assertThat(recordingSubscriber.events)
+                .filteredOn(event -> copy.getId().equals(event.getCopyId()))
+                .extracting(OutboxEvent::getType, OutboxEvent::getCustomerId)
+                .containsExactly(
+                        tuple(OutboxEventType.COPY_CHECKED_OUT, customerId),
+                        tuple(OutboxEventType.COPY_RETURNED, customerId));
+        assertThat(outboxEventRepository.findAll()).noneMatch(event -> isbn.equals(event.getIsbn()));
+        assertThat(meterRegistry.get("catalog_change_events").tag("type", "copy_returned").counter().count()).isPositive();
+        assertThat(meterRegistry.get("outbox_delivery_lag").timer().count()).isPositive();
+    }
+
+    @Test
+    void testFailedDeliveriesAreRetried() {
+        String isbn = TestISBNGenerator.next();
+        recordingSubscriber.failing.set(true);
+        try {
+            bookService.addBook(new BookCreateRequest(isbn, "Retried Book", Set.of("Retried Author"), 2024));
+            outboxRelay.relayPending();
+        } finally {
+            recordingSubscriber.failing.set(false);
+        }
+        assertThat(outboxEventRepository.findAll())
+                .filteredOn(event -> isbn.equals(event.getIsbn()))
+                .extracting(OutboxEvent::getAttempts)
+                .containsExactly(1);
+
+        outboxRelay.relayPending();
+
+        assertThat(recordingSubscriber.events).anyMatch(event -> isbn.equals(event.getIsbn()));
+        assertThat(outboxEventRepository.findAll()).noneMatch(event -> isbn.equals(event.getIsbn()));
+        assertThat(meterRegistry.get("outbox_delivery_failures").counter().count()).isPositive();
+    }
+
+    @Test
+    void testFailedBatchIsNotRelockedBeforeBackoff() {
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, List.of(recordingSubscriber), transactionManager,
+                meterRegistry, 1, 10, Duration.ofHours(1));
+        relay.relayPending();
+
+        String isbn = TestISBNGenerator.next();
+        recordingSubscriber.failing.set(true);
+        try {
+            bookService.addBook(new BookCreateRequest(isbn, "Backoff Book", Set.of("Backoff Author"), 2024));
+            relay.relayPending();
+            relay.relayPending();
+        } finally {
+            recordingSubscriber.failing.set(false);
+        }
+
+        // A batch of one that failed ends the drain, and the event then waits out its backoff
+        assertThat(outboxEventRepository.findAll())
+                .filteredOn(event -> isbn.equals(event.getIsbn()))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getAttempts()).isEqualTo(1);
+                    assertThat(event.getNextAttemptAt()).isAfter(Instant.now().plus(Duration.ofMinutes(59)));
+                });
+        outboxEventRepository.deleteAll(outboxEventRepository.findAll().stream()
+                .filter(event -> isbn.equals(event.getIsbn()))
+                .toList());
+    }
+
+    private static Customer customer() {
+        Customer customer = new Customer();
+        customer.setFirstName("Outbox");
+        customer.setLastName("Reader");
+        return customer;
+    }
+}